@@ -1,6 +1,7 @@
 package pl.beben.algorithm.pathfinding;
 
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import pl.beben.datastructure.Digraph;
 import java.util.Collections;
@@ -8,9 +9,9 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import static java.lang.Integer.MAX_VALUE;
 import static lombok.AccessLevel.PRIVATE;
 import static pl.beben.algorithm.pathfinding.DigraphPathRetracingAlgorithm.retracePath;
@@ -36,6 +37,18 @@ public class AStarAlgorithm {
                                                              VERTEX beginning,
                                                              VERTEX destination,
                                                              Function<VERTEX, Integer> heuristicFunction) {
+    return findPath(exploredVertices, digraph, beginning, destination, heuristicFunction, VertexQueueType.PRIORITY_QUEUE);
+  }
+
+  /**
+   * @param vertexQueueType see {@link pl.beben.algorithm.pathfinding.VertexQueueType}
+   */
+  public static <VERTEX> List<Digraph.Edge<VERTEX>> findPath(Set<VERTEX> exploredVertices,
+                                                             Digraph<VERTEX> digraph,
+                                                             VERTEX beginning,
+                                                             VERTEX destination,
+                                                             Function<VERTEX, Integer> heuristicFunction,
+                                                             @NonNull VertexQueueType vertexQueueType) {
 
     // See Dijkstra's algorithm first.
     // I'm going to comment on the differences between these two algorithms, because A-Star is
@@ -61,7 +74,7 @@ public class AStarAlgorithm {
     vertexToFScore.put(beginning, heuristicFunction.apply(beginning));
 
     // Dijkstra's queue was simply `lowest score first` - this one is making use of both GScore and FScore
-    final var vertexQueue = new PriorityQueue<>(createVertexQueueComparator(vertexToGScore, vertexToFScore));
+    final var vertexQueue = vertexQueueType.create(createVertexQueueComparator(vertexToGScore, vertexToFScore));
     vertexQueue.add(beginning);
 
     while (!vertexQueue.isEmpty()) {
@@ -93,14 +106,28 @@ public class AStarAlgorithm {
         if (exploredVertices.contains(adjacentVertex))
           continue;
 
-        vertexQueue.remove(adjacentVertex);
-        vertexQueue.add(adjacentVertex);
+        vertexQueue.requeue(adjacentVertex);
       }
     }
 
     return retracePath(vertexToBestEdge, destination);
   }
 
+  /**
+   * Int id variant of {@link #findPath(Digraph, Object, Object, Function)}, working on a {@link pl.beben.datastructure.CsrGraph} -
+   * with no boxing nor per-query hash maps (see {@link pl.beben.algorithm.pathfinding.PathfindingContext})
+   *
+   * @param context search context of the graph, can be reused by the following queries
+   * @param heuristicFunction same as the one of {@link #findPath(Digraph, Object, Object, Function)}, but taking a vertex id
+   * @return see {@link DijkstraAlgorithm#findPath(PathfindingContext, int, int)}
+   */
+  public static int[] findPath(@NonNull PathfindingContext<?> context,
+                               int beginning,
+                               int destination,
+                               @NonNull IntUnaryOperator heuristicFunction) {
+    return context.findPath(beginning, destination, heuristicFunction);
+  }
+
   private static <VERTEX> void assertThatEdgeIsValid(Digraph.Edge<VERTEX> edge) {
     if (edge.weight() < 0) {
       throw new IllegalArgumentException("Edge " + edge + " is not valid. Reason: Weight must not be negative");
@@ -1,6 +1,7 @@
 package pl.beben.algorithm.pathfinding;
 
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import pl.beben.datastructure.Digraph;
 import java.util.Collections;
@@ -8,7 +9,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.Set;
 import static java.lang.Integer.MAX_VALUE;
 import static lombok.AccessLevel.PRIVATE;
@@ -30,6 +30,17 @@ public class DijkstraAlgorithm {
   }
 
   public static <VERTEX> List<Digraph.Edge<VERTEX>> findPath(Set<VERTEX> exploredVertices, Digraph<VERTEX> digraph, VERTEX beginning, VERTEX destination) {
+    return findPath(exploredVertices, digraph, beginning, destination, VertexQueueType.PRIORITY_QUEUE);
+  }
+
+  /**
+   * @param vertexQueueType see {@link pl.beben.algorithm.pathfinding.VertexQueueType}
+   */
+  public static <VERTEX> List<Digraph.Edge<VERTEX>> findPath(Set<VERTEX> exploredVertices,
+                                                             Digraph<VERTEX> digraph,
+                                                             VERTEX beginning,
+                                                             VERTEX destination,
+                                                             @NonNull VertexQueueType vertexQueueType) {
     log.debug("Beginning = {}, destination = {}", beginning, destination);
 
     if (beginning.equals(destination)) {
@@ -42,7 +53,7 @@ public class DijkstraAlgorithm {
     vertexToScore.put(beginning, 0);
 
     // lowest score first
-    final var vertexQueue = new PriorityQueue<VERTEX>(Comparator.comparing(vertexToScore::get));
+    final var vertexQueue = vertexQueueType.create(Comparator.<VERTEX, Integer>comparing(vertexToScore::get));
     vertexQueue.add(beginning);
 
     // The goal is to iterate over each vertex in the `vertexQueue` ([1]), each time picking the one having the lowest score ([2]).
@@ -88,9 +99,8 @@ public class DijkstraAlgorithm {
           continue;
 
         // If the element is already present at the `vertexQueue`, just adding it again
-        // (or doing nothing at all) would not update its priority - hence this "requeue" (remove & add)
-        vertexQueue.remove(adjacentVertex);
-        vertexQueue.add(adjacentVertex);
+        // (or doing nothing at all) would not update its priority - hence this "requeue"
+        vertexQueue.requeue(adjacentVertex);
       }
     }
 
@@ -98,6 +108,19 @@ public class DijkstraAlgorithm {
     return retracePath(vertexToBestEdge, destination);
   }
 
+  /**
+   * Int id variant of {@link #findPath(Digraph, Object, Object)}, working on a {@link pl.beben.datastructure.CsrGraph} -
+   * with no boxing nor per-query hash maps (see {@link pl.beben.algorithm.pathfinding.PathfindingContext})
+   *
+   * @param context search context of the graph, can be reused by the following queries
+   * @return ids of the edges needed to be followed in order to get to the destination (see {@link PathfindingContext#toEdges(int[])}),
+   * {@literal null} if such path does not exist
+   * @throws java.lang.IllegalArgumentException if it finds an edge with negative weight
+   */
+  public static int[] findPath(@NonNull PathfindingContext<?> context, int beginning, int destination) {
+    return context.findPath(beginning, destination, vertex -> 0);
+  }
+
   private static <VERTEX> void assertThatEdgeIsValid(Digraph.Edge<VERTEX> edge) {
     if (edge.weight() < 0) {
       throw new IllegalArgumentException("Edge " + edge + " is not valid. Reason: Weight must not be negative");
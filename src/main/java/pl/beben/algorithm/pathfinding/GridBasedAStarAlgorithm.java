@@ -22,13 +22,22 @@ public class GridBasedAStarAlgorithm {
                                                         Digraph<GridVertex> digraph,
                                                         GridVertex beginning,
                                                         GridVertex destination) {
+    return findPath(exploredVertices, digraph, beginning, destination, VertexQueueType.PRIORITY_QUEUE);
+  }
+
+  public static List<Digraph.Edge<GridVertex>> findPath(Set<GridVertex> exploredVertices,
+                                                        Digraph<GridVertex> digraph,
+                                                        GridVertex beginning,
+                                                        GridVertex destination,
+                                                        VertexQueueType vertexQueueType) {
 
     return AStarAlgorithm.findPath(
       exploredVertices,
       digraph,
       beginning,
       destination,
-      vertex -> estimateTravelCost(vertex, destination)
+      vertex -> estimateTravelCost(vertex, destination),
+      vertexQueueType
     );
   }
 
@@ -0,0 +1,231 @@
+package pl.beben.algorithm.pathfinding;
+
+import lombok.Getter;
+import lombok.NonNull;
+import pl.beben.datastructure.CsrGraph;
+import pl.beben.datastructure.Digraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Reusable state of a path search over a {@link pl.beben.datastructure.CsrGraph} - see
+ * {@link pl.beben.algorithm.pathfinding.DijkstraAlgorithm#findPath(PathfindingContext, int, int)} and
+ * {@link pl.beben.algorithm.pathfinding.AStarAlgorithm#findPath(PathfindingContext, int, int, IntUnaryOperator)}. <br/>
+ * What the {@link java.util.Map} based algorithms keep in hash maps (scores, best edges) and sets (explored vertices) is kept
+ * here in int arrays indexed by vertex id, and the queue is a 4-ary heap of primitives - so a query allocates nothing but the path. <br/>
+ * The arrays are allocated once, and are not cleared between queries - instead, every entry is stamped with the number of the query
+ * that wrote it, and an entry stamped by an earlier query is treated as empty. That's what makes a query on a large graph cost
+ * as much as the part of the graph it explores, rather than the whole graph. <br/>
+ * Not thread safe - every thread needs its own context (the graph itself can be shared).
+ */
+public class PathfindingContext<VERTEX> {
+
+  private static final int NO_EDGE = -1;
+  private static final int HEAP_ARITY = 4;
+  private static final int[] EMPTY_PATH = new int[0];
+
+  @Getter
+  private final CsrGraph<VERTEX> graph;
+
+  private final int[] gScores;
+  private final int[] bestEdges;
+  private final int[] parents;
+  // gScores, bestEdges and parents of a vertex are valid only if it's reached by the current query
+  private final int[] reachedQueries;
+  private final int[] exploredQueries;
+  private int query;
+  private int exploredVertexCount;
+
+  // a vertex may be in the heap more than once (with different keys) - the stale entries are skipped once polled, because
+  // the entry with the best key is polled (and the vertex is explored) first
+  private int[] heapVertices;
+  private long[] heapKeys;
+  private int heapSize;
+
+  public PathfindingContext(@NonNull CsrGraph<VERTEX> graph) {
+    this.graph = graph;
+    this.gScores = new int[graph.vertexCount()];
+    this.bestEdges = new int[graph.vertexCount()];
+    this.parents = new int[graph.vertexCount()];
+    this.reachedQueries = new int[graph.vertexCount()];
+    this.exploredQueries = new int[graph.vertexCount()];
+    this.heapVertices = new int[Math.max(HEAP_ARITY, graph.vertexCount())];
+    this.heapKeys = new long[heapVertices.length];
+  }
+
+  /**
+   * @return number of vertices explored by the last query
+   */
+  public int exploredVertexCount() {
+    return exploredVertexCount;
+  }
+
+  /**
+   * @return whether given vertex has been explored by the last query
+   */
+  public boolean isExplored(int vertex) {
+    return query != 0 && exploredQueries[vertex] == query;
+  }
+
+  /**
+   * @return the path as a list of {@link Digraph.Edge}, {@literal null} if the path is {@literal null}
+   */
+  public List<Digraph.Edge<VERTEX>> toEdges(int[] path) {
+    if (path == null)
+      return null;
+
+    final var edges = new ArrayList<Digraph.Edge<VERTEX>>(path.length);
+    for (final var edge : path)
+      edges.add(graph.toEdge(edge));
+    return edges;
+  }
+
+  /**
+   * A-Star with given heuristic function, Dijkstra's algorithm if it always returns 0
+   */
+  int[] findPath(int beginning, int destination, @NonNull IntUnaryOperator heuristicFunction) {
+    startQuery();
+
+    if (beginning == destination)
+      return EMPTY_PATH;
+
+    reach(beginning, 0, NO_EDGE, CsrGraph.NO_VERTEX);
+    push(beginning, createKey(heuristicFunction.applyAsInt(beginning), 0));
+
+    while (heapSize > 0) {
+      final var vertex = poll();
+
+      if (exploredQueries[vertex] == query)
+        continue;
+
+      exploredQueries[vertex] = query;
+      exploredVertexCount++;
+
+      if (vertex == destination)
+        break;
+
+      final var vertexGScore = gScores[vertex];
+      final var endEdge = graph.endEdge(vertex);
+
+      for (var edge = graph.firstEdge(vertex); edge < endEdge; edge++) {
+        final var weight = graph.weight(edge);
+        if (weight < 0)
+          throw new IllegalArgumentException("Edge " + graph.toEdge(edge) + " is not valid. Reason: Weight must not be negative");
+
+        final var adjacentVertex = graph.target(edge);
+        final var adjacentVertexGScore = vertexGScore + weight;
+
+        if (reachedQueries[adjacentVertex] == query && gScores[adjacentVertex] <= adjacentVertexGScore)
+          continue;
+
+        reach(adjacentVertex, adjacentVertexGScore, edge, vertex);
+
+        // Do not requeue already explored vertices
+        if (exploredQueries[adjacentVertex] == query)
+          continue;
+
+        push(adjacentVertex, createKey(adjacentVertexGScore + heuristicFunction.applyAsInt(adjacentVertex), adjacentVertexGScore));
+      }
+    }
+
+    return retracePath(destination);
+  }
+
+  private void startQuery() {
+    // after 2^32 queries the stamps would repeat - so the arrays are cleared, for once
+    if (++query == 0) {
+      Arrays.fill(reachedQueries, 0);
+      Arrays.fill(exploredQueries, 0);
+      query = 1;
+    }
+    exploredVertexCount = 0;
+    heapSize = 0;
+  }
+
+  private void reach(int vertex, int gScore, int bestEdge, int parent) {
+    reachedQueries[vertex] = query;
+    gScores[vertex] = gScore;
+    bestEdges[vertex] = bestEdge;
+    parents[vertex] = parent;
+  }
+
+  private int[] retracePath(int destination) {
+    if (reachedQueries[destination] != query)
+      return null;
+
+    // going backwards to the `beginning`, which has no parent
+    var length = 0;
+    for (var vertex = destination; parents[vertex] != CsrGraph.NO_VERTEX; vertex = parents[vertex])
+      length++;
+
+    final var path = new int[length];
+    for (var vertex = destination; parents[vertex] != CsrGraph.NO_VERTEX; vertex = parents[vertex])
+      path[--length] = bestEdges[vertex];
+
+    return path;
+  }
+
+  /*
+   * Lowest F score first, in case of a tie - highest G score first (see AStarAlgorithm for the reasoning),
+   * both packed into a single long, so comparing two entries is a single comparison
+   */
+  private static long createKey(int fScore, int gScore) {
+    return ((long) fScore << 32) | (Integer.MAX_VALUE - gScore);
+  }
+
+  // 4-ary heap - half as deep as a binary one, and the children of a node are next to each other in memory
+
+  private void push(int vertex, long key) {
+    if (heapSize == heapVertices.length) {
+      heapVertices = Arrays.copyOf(heapVertices, heapSize * 2);
+      heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+    }
+
+    var index = heapSize++;
+    while (index > 0) {
+      final var parentIndex = (index - 1) / HEAP_ARITY;
+      if (heapKeys[parentIndex] <= key)
+        break;
+
+      heapVertices[index] = heapVertices[parentIndex];
+      heapKeys[index] = heapKeys[parentIndex];
+      index = parentIndex;
+    }
+
+    heapVertices[index] = vertex;
+    heapKeys[index] = key;
+  }
+
+  private int poll() {
+    final var polledVertex = heapVertices[0];
+    final var vertex = heapVertices[--heapSize];
+    final var key = heapKeys[heapSize];
+
+    var index = 0;
+    while (true) {
+      final var firstChildIndex = index * HEAP_ARITY + 1;
+      if (firstChildIndex >= heapSize)
+        break;
+
+      var minChildIndex = firstChildIndex;
+      final var endChildIndex = Math.min(firstChildIndex + HEAP_ARITY, heapSize);
+      for (var childIndex = firstChildIndex + 1; childIndex < endChildIndex; childIndex++)
+        if (heapKeys[childIndex] < heapKeys[minChildIndex])
+          minChildIndex = childIndex;
+
+      if (key <= heapKeys[minChildIndex])
+        break;
+
+      heapVertices[index] = heapVertices[minChildIndex];
+      heapKeys[index] = heapKeys[minChildIndex];
+      index = minChildIndex;
+    }
+
+    heapVertices[index] = vertex;
+    heapKeys[index] = key;
+    return polledVertex;
+  }
+
+}
@@ -0,0 +1,86 @@
+package pl.beben.algorithm.pathfinding;
+
+import pl.beben.datastructure.IndexedDaryHeap;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Queue of the vertices to explore, lowest score first - see {@link pl.beben.algorithm.pathfinding.VertexQueueType}
+ */
+interface VertexQueue<VERTEX> {
+
+  void add(VERTEX vertex);
+
+  VERTEX poll();
+
+  boolean isEmpty();
+
+  /**
+   * Has to be called after the score of the vertex has improved - adds it, if it's not present
+   */
+  void requeue(VERTEX vertex);
+
+  class PriorityQueueBased<VERTEX> implements VertexQueue<VERTEX> {
+
+    private final PriorityQueue<VERTEX> queue;
+
+    PriorityQueueBased(Comparator<VERTEX> comparator) {
+      this.queue = new PriorityQueue<>(comparator);
+    }
+
+    @Override
+    public void add(VERTEX vertex) {
+      queue.add(vertex);
+    }
+
+    @Override
+    public VERTEX poll() {
+      return queue.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return queue.isEmpty();
+    }
+
+    @Override
+    public void requeue(VERTEX vertex) {
+      queue.remove(vertex);
+      queue.add(vertex);
+    }
+  }
+
+  class IndexedHeapBased<VERTEX> implements VertexQueue<VERTEX> {
+
+    private final IndexedDaryHeap<VERTEX> heap;
+
+    IndexedHeapBased(Comparator<VERTEX> comparator) {
+      this.heap = new IndexedDaryHeap<>(comparator);
+    }
+
+    @Override
+    public void add(VERTEX vertex) {
+      heap.add(vertex);
+    }
+
+    @Override
+    public VERTEX poll() {
+      return heap.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return heap.isEmpty();
+    }
+
+    @Override
+    public void requeue(VERTEX vertex) {
+      // the score can only improve, so the vertex has to be moved only towards the root of the heap
+      if (heap.contains(vertex))
+        heap.decreaseKey(vertex);
+      else
+        heap.add(vertex);
+    }
+  }
+
+}
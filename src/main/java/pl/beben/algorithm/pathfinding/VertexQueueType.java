@@ -0,0 +1,29 @@
+package pl.beben.algorithm.pathfinding;
+
+import java.util.Comparator;
+
+/**
+ * Queue of the vertices to explore, used by {@link pl.beben.algorithm.pathfinding.DijkstraAlgorithm}
+ * and {@link pl.beben.algorithm.pathfinding.AStarAlgorithm}
+ */
+public enum VertexQueueType {
+
+  /**
+   * {@link java.util.PriorityQueue} - improving the score of a queued vertex means removing it (a linear search, <i>O(n)</i>)
+   * and adding it again, so on a large frontier the search tends to <i>O(V²)</i>
+   */
+  PRIORITY_QUEUE,
+
+  /**
+   * {@link pl.beben.datastructure.IndexedDaryHeap} - improving the score of a queued vertex costs <i>O(log n)</i>
+   */
+  INDEXED_HEAP;
+
+  <VERTEX> VertexQueue<VERTEX> create(Comparator<VERTEX> comparator) {
+    return switch (this) {
+      case PRIORITY_QUEUE -> new VertexQueue.PriorityQueueBased<>(comparator);
+      case INDEXED_HEAP -> new VertexQueue.IndexedHeapBased<>(comparator);
+    };
+  }
+
+}
@@ -0,0 +1,229 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick automaton - finds every occurrence of every word of a {@link pl.beben.datastructure.Trie} in a text,
+ * in a single pass over it (<i>O(text length + number of matches)</i>), no matter how many words there are. <br/>
+ * The states are the nodes of the trie (kept in flat arrays, the same way {@link pl.beben.datastructure.CompactTrie} keeps them),
+ * and on top of the trie's edges every state gets:
+ * <ul>
+ *   <li>failure link - the state of the longest proper suffix of its path that is also a path in the trie.
+ *   If the next character of the text has no edge, the automaton follows failure links until it finds one
+ *   (or gets back to the root) - it never goes back in the text</li>
+ *   <li>output link - the state of the longest proper suffix of its path that is a word, so that every word ending
+ *   at given position of the text is reported, not only the longest one</li>
+ * </ul>
+ * <pre>
+ *   words: "he", "she", "his", "hers"
+ *
+ *   text:  u s h e r s
+ *              she           (s-h-e)
+ *               he           (output link of "she")
+ *               hers         (after a failure link from "she" to "he")
+ * </pre>
+ * Transitions are found with a binary search over the (sorted) characters of a state - for a large alphabet,
+ * that's much less memory than a dense {@code states * alphabet size} transition table.
+ */
+public class AhoCorasickAutomaton {
+
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+  private static final int READ_BUFFER_SIZE = 8192;
+
+  // character of the edge leading to given state (the root has none)
+  final char[] characters;
+  // children of state i are within [firstChildren[i], firstChildren[i + 1]) range (the last element is a sentinel)
+  final int[] firstChildren;
+  final int[] failureLinks;
+  final int[] outputLinks;
+  // the word of given state, null if it's not an end of word
+  final String[] words;
+
+  private AhoCorasickAutomaton(char[] characters, int[] firstChildren, int[] failureLinks, int[] outputLinks, String[] words) {
+    this.characters = characters;
+    this.firstChildren = firstChildren;
+    this.failureLinks = failureLinks;
+    this.outputLinks = outputLinks;
+    this.words = words;
+  }
+
+  /**
+   * Costs <i>O(n log k)</i>, where n is the number of nodes of the trie and k is the greatest number of children of a single node.
+   * Later modifications of the trie are not reflected in the automaton.
+   */
+  public static AhoCorasickAutomaton from(@NonNull Trie trie) {
+    // level order - every state comes after its parent, and so does the target of its failure link (which is shallower)
+    final var nodes = new ArrayList<Trie.Node>();
+    final var parentList = new ArrayList<Integer>();
+    final var characterList = new StringBuilder();
+
+    nodes.add(trie.root);
+    parentList.add(NONE);
+    characterList.append('\0');
+
+    final var firstChildList = new ArrayList<Integer>();
+
+    for (var state = ROOT; state < nodes.size(); state++) {
+      firstChildList.add(nodes.size());
+
+      final var node = nodes.get(state);
+      final var childCharacters = new char[node.charToNode.size()];
+      var i = 0;
+      for (final var character : node.charToNode.keySet())
+        childCharacters[i++] = character;
+      Arrays.sort(childCharacters);
+
+      for (final var character : childCharacters) {
+        nodes.add(node.charToNode.get(character));
+        parentList.add(state);
+        characterList.append(character);
+      }
+    }
+    firstChildList.add(nodes.size());
+
+    final var stateCount = nodes.size();
+    final var automaton = new AhoCorasickAutomaton(
+      characterList.toString().toCharArray(),
+      firstChildList.stream().mapToInt(Integer::intValue).toArray(),
+      new int[stateCount],
+      new int[stateCount],
+      new String[stateCount]
+    );
+
+    automaton.failureLinks[ROOT] = ROOT;
+    automaton.outputLinks[ROOT] = NONE;
+
+    for (var state = ROOT + 1; state < stateCount; state++) {
+      final int parent = parentList.get(state);
+      final var character = automaton.characters[state];
+
+      // the longest suffix of the parent's path that can be followed by the character - the root's children have no proper suffix
+      var failureLink = ROOT;
+      if (parent != ROOT) {
+        var suffix = automaton.failureLinks[parent];
+        while (suffix != ROOT && automaton.findChild(suffix, character) == NONE)
+          suffix = automaton.failureLinks[suffix];
+
+        final var child = automaton.findChild(suffix, character);
+        failureLink = child != NONE ? child : ROOT;
+      }
+
+      automaton.failureLinks[state] = failureLink;
+      automaton.outputLinks[state] = nodes.get(failureLink).isEndOfWord
+        ? failureLink
+        : automaton.outputLinks[failureLink];
+
+      if (nodes.get(state).isEndOfWord)
+        automaton.words[state] = automaton.buildWord(state, parentList);
+    }
+
+    return automaton;
+  }
+
+  /**
+   * @return every match, in the order of their end positions (and from the longest to the shortest for the same end position)
+   */
+  public List<Match> findAll(@NonNull CharSequence text) {
+    final var matches = new ArrayList<Match>();
+    search(text, matches::add);
+    return matches;
+  }
+
+  /**
+   * Calls the consumer for every match, as soon as it's found
+   */
+  public void search(@NonNull CharSequence text, @NonNull Consumer<Match> consumer) {
+    var state = ROOT;
+    for (var i = 0; i < text.length(); i++) {
+      state = nextState(state, text.charAt(i));
+      reportMatches(state, i + 1, consumer);
+    }
+  }
+
+  /**
+   * Same as {@link #search(CharSequence, Consumer)}, but the text is read (in chunks) from the reader - so it doesn't have to fit
+   * in memory. The reader is not closed.
+   */
+  public void search(@NonNull Reader reader, @NonNull Consumer<Match> consumer) throws IOException {
+    final var buffer = new char[READ_BUFFER_SIZE];
+    var state = ROOT;
+    var position = 0L;
+
+    for (var length = reader.read(buffer); length != -1; length = reader.read(buffer)) {
+      for (var i = 0; i < length; i++) {
+        state = nextState(state, buffer[i]);
+        reportMatches(state, ++position, consumer);
+      }
+    }
+  }
+
+  private int nextState(int state, char character) {
+    var child = findChild(state, character);
+
+    while (child == NONE && state != ROOT) {
+      state = failureLinks[state];
+      child = findChild(state, character);
+    }
+
+    return child != NONE ? child : ROOT;
+  }
+
+  private void reportMatches(int state, long end, Consumer<Match> consumer) {
+    var output = words[state] != null ? state : outputLinks[state];
+
+    while (output != NONE) {
+      final var word = words[output];
+      consumer.accept(new Match(end - word.length(), word));
+      output = outputLinks[output];
+    }
+  }
+
+  private int findChild(int state, char character) {
+    var low = firstChildren[state];
+    var high = firstChildren[state + 1] - 1;
+
+    while (low <= high) {
+      final var middle = (low + high) >>> 1;
+
+      if (characters[middle] < character)
+        low = middle + 1;
+      else if (characters[middle] > character)
+        high = middle - 1;
+      else
+        return middle;
+    }
+    return NONE;
+  }
+
+  // the characters are filled in from the end - StringBuilder.reverse() would swap the halves of every surrogate pair back
+  private String buildWord(int state, List<Integer> parentList) {
+    var length = 0;
+    for (var ancestor = state; ancestor != ROOT; ancestor = parentList.get(ancestor))
+      length++;
+
+    final var word = new char[length];
+    for (; state != ROOT; state = parentList.get(state))
+      word[--length] = characters[state];
+    return new String(word);
+  }
+
+  /**
+   * @param start index of the first character of the match in the text
+   * @param word the matched word (its end, exclusive, is {@code start + word.length()})
+   */
+  public record Match(long start, String word) {
+
+    @Override
+    public String toString() {
+      return word + " @ " + start;
+    }
+  }
+
+}
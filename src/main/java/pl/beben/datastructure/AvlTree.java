@@ -0,0 +1,193 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import pl.beben.utils.ComparableUtils;
+import java.util.function.Consumer;
+
+/**
+ * Self-balancing version of {@link pl.beben.datastructure.BinarySearchTree} - heights of any node's subtrees differ by at most one,
+ * which keeps the height of the whole tree (and so the cost of every operation) within <i>O(log n)</i>,
+ * even if the values are added in sorted order.
+ * @implNote equality is checked using {@link Comparable#compareTo(Object)} method
+ */
+public class AvlTree<VALUE extends Comparable> {
+
+  Node<VALUE> rootNode;
+
+  public void add(@NonNull VALUE value) {
+    rootNode = add(rootNode, value);
+  }
+
+  public boolean contains(VALUE value) {
+    if (value == null)
+      return false;
+
+    var node = rootNode;
+    while (node != null) {
+      if (ComparableUtils.isEqualTo(node.value, value))
+        return true;
+
+      node = ComparableUtils.isGreaterThan(node.value, value)
+        ? node.left
+        : node.right;
+    }
+    return false;
+  }
+
+  public boolean remove(VALUE value) {
+    if (value == null || !contains(value))
+      return false;
+
+    rootNode = remove(rootNode, value);
+    return true;
+  }
+
+  public void forEach(Consumer<VALUE> consumer) {
+    forEach(rootNode, consumer);
+  }
+
+  /**
+   * @return height of the tree, 0 if it is empty
+   */
+  public int height() {
+    return height(rootNode);
+  }
+
+  // every method below returns the (possibly new, after rotations) root of given subtree
+
+  private Node<VALUE> add(Node<VALUE> node, VALUE value) {
+    if (node == null)
+      return new Node<>(value);
+
+    if (ComparableUtils.isGreaterThan(node.value, value))
+      node.left = add(node.left, value);
+    else
+      node.right = add(node.right, value);
+
+    return rebalance(node);
+  }
+
+  private Node<VALUE> remove(Node<VALUE> node, VALUE value) {
+    if (ComparableUtils.isEqualTo(node.value, value)) {
+      if (node.left == null)
+        return node.right;
+      if (node.right == null)
+        return node.left;
+
+      // two children - take over the value of the successor (min node of the right subtree) and remove the successor instead
+      var successor = node.right;
+      while (successor.left != null)
+        successor = successor.left;
+
+      node.value = successor.value;
+      node.right = removeMin(node.right);
+    } else if (ComparableUtils.isGreaterThan(node.value, value)) {
+      node.left = remove(node.left, value);
+    } else {
+      node.right = remove(node.right, value);
+    }
+
+    return rebalance(node);
+  }
+
+  private Node<VALUE> removeMin(Node<VALUE> node) {
+    if (node.left == null)
+      return node.right;
+
+    node.left = removeMin(node.left);
+    return rebalance(node);
+  }
+
+  /*
+   * After a single add or remove, the balance factor (left height - right height) of any node is within [-2, 2].
+   * There are four cases of imbalance, each fixed with one or two rotations:
+   *
+   *  left-left         left-right               right-right       right-left
+   *
+   *      c               c                        a                 a
+   *     /               /                          \                 \
+   *    b               a                            b                 c
+   *   /                 \                            \               /
+   *  a                   b                            c             b
+   *
+   *  rotate c right    rotate a left,             rotate a left     rotate c right,
+   *                    then c right                                 then a left
+   *
+   * and every one of them ends up as
+   *
+   *      b
+   *     / \
+   *    a   c
+   */
+  private Node<VALUE> rebalance(Node<VALUE> node) {
+    updateHeight(node);
+    final var balanceFactor = balanceFactor(node);
+
+    if (balanceFactor > 1) {
+      if (balanceFactor(node.left) < 0)
+        node.left = rotateLeft(node.left);
+      return rotateRight(node);
+    }
+
+    if (balanceFactor < -1) {
+      if (balanceFactor(node.right) > 0)
+        node.right = rotateRight(node.right);
+      return rotateLeft(node);
+    }
+
+    return node;
+  }
+
+  private Node<VALUE> rotateRight(Node<VALUE> node) {
+    final var newRoot = node.left;
+    node.left = newRoot.right;
+    newRoot.right = node;
+
+    updateHeight(node);
+    updateHeight(newRoot);
+    return newRoot;
+  }
+
+  private Node<VALUE> rotateLeft(Node<VALUE> node) {
+    final var newRoot = node.right;
+    node.right = newRoot.left;
+    newRoot.left = node;
+
+    updateHeight(node);
+    updateHeight(newRoot);
+    return newRoot;
+  }
+
+  private void forEach(Node<VALUE> node, Consumer<VALUE> consumer) {
+    if (node == null)
+      return;
+
+    forEach(node.left, consumer);
+    consumer.accept(node.value);
+    forEach(node.right, consumer);
+  }
+
+  private static void updateHeight(Node<?> node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+  }
+
+  private static int balanceFactor(Node<?> node) {
+    return height(node.left) - height(node.right);
+  }
+
+  private static int height(Node<?> node) {
+    return node != null ? node.height : 0;
+  }
+
+  static class Node<NODE_VALUE extends Comparable> {
+    Node<NODE_VALUE> left;
+    Node<NODE_VALUE> right;
+    NODE_VALUE value;
+    int height = 1;
+
+    Node(NODE_VALUE value) {
+      this.value = value;
+    }
+  }
+
+}
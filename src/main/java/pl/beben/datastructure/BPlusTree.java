@@ -0,0 +1,414 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import pl.beben.utils.ComparableUtils;
+import java.util.function.Consumer;
+
+/**
+ * Ordered set with wide nodes - an alternative to {@link pl.beben.datastructure.BinarySearchTree} that is much friendlier to the CPU cache. <br/>
+ * Every node holds up to {@code fanout - 1} values in a contiguous array, so a lookup visits only <i>log<sub>fanout</sub>(n)</i> nodes
+ * (binary searching each of them) instead of <i>log<sub>2</sub>(n)</i> separate objects. <br/>
+ * It's a B+ tree - values are stored in leaves only (inner nodes hold copies used for routing), and leaves are linked
+ * with each other, so an ordered scan (or a range scan) is just a walk along the leaves.
+ * <pre>
+ *                 [ 30 | 60 ]
+ *               /      |      \
+ *   [10 | 20] → [30 | 40 | 50] → [60 | 70]
+ * </pre>
+ * @implNote it's a set - adding a value that is already present does nothing;
+ *           equality is checked using {@link Comparable#compareTo(Object)} method
+ */
+public class BPlusTree<VALUE extends Comparable> {
+
+  private static final int DEFAULT_FANOUT = 32;
+  private static final int MIN_FANOUT = 4;
+
+  private final int maxKeys;
+  private final int minKeys;
+
+  Node rootNode;
+  private int size;
+
+  // result of the last split, see `add(Node, VALUE)` - kept in fields so that splitting doesn't have to allocate a result object
+  private Node splitSibling;
+  private Comparable splitSeparator;
+
+  public BPlusTree() {
+    this(DEFAULT_FANOUT);
+  }
+
+  /**
+   * @param fanout max number of children of an inner node (and max number of values in a leaf + 1)
+   */
+  public BPlusTree(int fanout) {
+    if (fanout < MIN_FANOUT)
+      throw new IllegalArgumentException("Fanout must be at least " + MIN_FANOUT);
+
+    maxKeys = fanout - 1;
+    minKeys = maxKeys / 2;
+    rootNode = new LeafNode(fanout);
+  }
+
+  public void add(@NonNull VALUE value) {
+    if (!add(rootNode, value))
+      return;
+
+    size++;
+
+    if (splitSibling != null) {
+      // the root has been split - the tree grows by one level (B trees always grow at the top)
+      final var newRoot = new InnerNode(maxKeys + 1);
+      newRoot.keys[0] = splitSeparator;
+      newRoot.children[0] = rootNode;
+      newRoot.children[1] = splitSibling;
+      newRoot.count = 1;
+      rootNode = newRoot;
+      splitSibling = null;
+      splitSeparator = null;
+    }
+  }
+
+  public boolean contains(VALUE value) {
+    if (value == null)
+      return false;
+
+    final var leaf = findLeaf(value);
+    return leaf.indexOf(value) >= 0;
+  }
+
+  public boolean remove(VALUE value) {
+    if (value == null || !remove(rootNode, value))
+      return false;
+
+    size--;
+
+    // the root has lost its last separator (after a merge of its two only children) - the tree shrinks by one level
+    if (rootNode instanceof InnerNode innerRoot && innerRoot.count == 0)
+      rootNode = innerRoot.children[0];
+
+    return true;
+  }
+
+  public void forEach(Consumer<VALUE> consumer) {
+    var node = rootNode;
+    while (node instanceof InnerNode innerNode)
+      node = innerNode.children[0];
+
+    for (var leaf = (LeafNode) node; leaf != null; leaf = leaf.next) {
+      for (var i = 0; i < leaf.count; i++)
+        consumer.accept((VALUE) leaf.keys[i]);
+    }
+  }
+
+  /**
+   * Calls the consumer for every value within [from, to] range, in order - descends to the leaf containing {@code from} once,
+   * then only walks the linked leaves
+   */
+  public void rangeForEach(@NonNull VALUE from, @NonNull VALUE to, Consumer<VALUE> consumer) {
+    var leaf = findLeaf(from);
+    var index = leaf.lowerBound(from);
+
+    while (leaf != null) {
+      for (; index < leaf.count; index++) {
+        if (ComparableUtils.isGreaterThan(leaf.keys[index], to))
+          return;
+        consumer.accept((VALUE) leaf.keys[index]);
+      }
+      leaf = leaf.next;
+      index = 0;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private LeafNode findLeaf(Comparable value) {
+    var node = rootNode;
+    while (node instanceof InnerNode innerNode)
+      node = innerNode.children[innerNode.childIndex(value)];
+    return (LeafNode) node;
+  }
+
+  /**
+   * @return whether the value has been added (false if it was already present);
+   *         if the node had to be split, its new right sibling and the separator are left in `splitSibling` and `splitSeparator`
+   */
+  private boolean add(Node node, VALUE value) {
+
+    if (node instanceof LeafNode leaf) {
+      final var index = leaf.lowerBound(value);
+      if (index < leaf.count && ComparableUtils.isEqualTo(leaf.keys[index], value))
+        return false;
+
+      leaf.insertKey(index, value);
+
+      if (leaf.count > maxKeys)
+        splitLeaf(leaf);
+
+      return true;
+    }
+
+    final var innerNode = (InnerNode) node;
+    final var childIndex = innerNode.childIndex(value);
+
+    if (!add(innerNode.children[childIndex], value))
+      return false;
+
+    if (splitSibling != null) {
+      // the child has been split - its new sibling has to be linked right after it
+      innerNode.insertKey(childIndex, splitSeparator);
+      innerNode.insertChild(childIndex + 1, splitSibling);
+      splitSibling = null;
+      splitSeparator = null;
+
+      if (innerNode.count > maxKeys)
+        splitInnerNode(innerNode);
+    }
+
+    return true;
+  }
+
+  private void splitLeaf(LeafNode leaf) {
+    final var sibling = new LeafNode(maxKeys + 1);
+    final var keptCount = leaf.count / 2;
+
+    sibling.count = leaf.count - keptCount;
+    System.arraycopy(leaf.keys, keptCount, sibling.keys, 0, sibling.count);
+    clear(leaf.keys, keptCount, leaf.count);
+    leaf.count = keptCount;
+
+    sibling.next = leaf.next;
+    leaf.next = sibling;
+
+    // in a B+ tree the separator is a copy - the value itself stays in the leaf
+    splitSibling = sibling;
+    splitSeparator = sibling.keys[0];
+  }
+
+  private void splitInnerNode(InnerNode node) {
+    final var sibling = new InnerNode(maxKeys + 1);
+    final var middleIndex = node.count / 2;
+
+    // the middle separator moves up to the parent, keys on its right side go to the sibling along with their children
+    sibling.count = node.count - middleIndex - 1;
+    System.arraycopy(node.keys, middleIndex + 1, sibling.keys, 0, sibling.count);
+    System.arraycopy(node.children, middleIndex + 1, sibling.children, 0, sibling.count + 1);
+
+    splitSibling = sibling;
+    splitSeparator = node.keys[middleIndex];
+
+    clear(node.keys, middleIndex, node.count);
+    clear(node.children, middleIndex + 1, node.count + 1);
+    node.count = middleIndex;
+  }
+
+  /**
+   * @return whether the value has been removed; the node might be left with too few keys - it's up to its parent to fix that
+   */
+  private boolean remove(Node node, VALUE value) {
+
+    if (node instanceof LeafNode leaf) {
+      final var index = leaf.indexOf(value);
+      if (index < 0)
+        return false;
+
+      leaf.removeKey(index);
+      return true;
+    }
+
+    final var innerNode = (InnerNode) node;
+    final var childIndex = innerNode.childIndex(value);
+    final var child = innerNode.children[childIndex];
+
+    if (!remove(child, value))
+      return false;
+
+    if (child.count < minKeys)
+      fixUnderflow(innerNode, childIndex);
+
+    return true;
+  }
+
+  /*
+   * The child has one key too few. In order of preference:
+   *  1. borrow a key from the left sibling, if it can spare one
+   *  2. borrow a key from the right sibling, if it can spare one
+   *  3. merge with one of the siblings (both have the minimal number of keys, so the result fits in a single node)
+   */
+  private void fixUnderflow(InnerNode parent, int childIndex) {
+    final var leftSibling = childIndex > 0 ? parent.children[childIndex - 1] : null;
+    final var rightSibling = childIndex < parent.count ? parent.children[childIndex + 1] : null;
+
+    if (leftSibling != null && leftSibling.count > minKeys)
+      borrowFromLeftSibling(parent, childIndex);
+    else if (rightSibling != null && rightSibling.count > minKeys)
+      borrowFromRightSibling(parent, childIndex);
+    else if (leftSibling != null)
+      merge(parent, childIndex - 1);
+    else
+      merge(parent, childIndex);
+  }
+
+  private void borrowFromLeftSibling(InnerNode parent, int childIndex) {
+    final var child = parent.children[childIndex];
+    final var leftSibling = parent.children[childIndex - 1];
+    final var separatorIndex = childIndex - 1;
+
+    if (child instanceof LeafNode leaf) {
+      final var borrowedKey = leftSibling.keys[leftSibling.count - 1];
+      leftSibling.removeKey(leftSibling.count - 1);
+      leaf.insertKey(0, borrowedKey);
+      parent.keys[separatorIndex] = borrowedKey;
+    } else {
+      // rotation through the parent - separator goes down, the sibling's last key goes up, and its last child moves over
+      final var innerChild = (InnerNode) child;
+      final var innerSibling = (InnerNode) leftSibling;
+
+      innerChild.insertKey(0, parent.keys[separatorIndex]);
+      innerChild.insertChild(0, innerSibling.children[innerSibling.count]);
+      parent.keys[separatorIndex] = innerSibling.keys[innerSibling.count - 1];
+
+      innerSibling.children[innerSibling.count] = null;
+      innerSibling.keys[innerSibling.count - 1] = null;
+      innerSibling.count--;
+    }
+  }
+
+  private void borrowFromRightSibling(InnerNode parent, int childIndex) {
+    final var child = parent.children[childIndex];
+    final var rightSibling = parent.children[childIndex + 1];
+    final var separatorIndex = childIndex;
+
+    if (child instanceof LeafNode leaf) {
+      final var rightLeaf = (LeafNode) rightSibling;
+      leaf.insertKey(leaf.count, rightLeaf.keys[0]);
+      rightLeaf.removeKey(0);
+      parent.keys[separatorIndex] = rightLeaf.keys[0];
+    } else {
+      final var innerChild = (InnerNode) child;
+      final var innerSibling = (InnerNode) rightSibling;
+
+      innerChild.insertKey(innerChild.count, parent.keys[separatorIndex]);
+      innerChild.children[innerChild.count] = innerSibling.children[0];
+      parent.keys[separatorIndex] = innerSibling.keys[0];
+
+      innerSibling.removeKey(0);
+      innerSibling.removeChild(0);
+    }
+  }
+
+  /**
+   * Merges {@code parent.children[leftIndex + 1]} into {@code parent.children[leftIndex]}
+   */
+  private void merge(InnerNode parent, int leftIndex) {
+    final var left = parent.children[leftIndex];
+    final var right = parent.children[leftIndex + 1];
+
+    if (left instanceof LeafNode leftLeaf) {
+      final var rightLeaf = (LeafNode) right;
+      System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+      leftLeaf.count += rightLeaf.count;
+      leftLeaf.next = rightLeaf.next;
+    } else {
+      // unlike in leaves, the separator has to be pulled down - it's the only key that routes between the two halves
+      final var leftInner = (InnerNode) left;
+      final var rightInner = (InnerNode) right;
+
+      leftInner.keys[leftInner.count] = parent.keys[leftIndex];
+      System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.count + 1, rightInner.count);
+      System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.count + 1, rightInner.count + 1);
+      leftInner.count += rightInner.count + 1;
+    }
+
+    parent.removeKey(leftIndex);
+    parent.removeChild(leftIndex + 1);
+  }
+
+  private static void clear(Object[] array, int from, int to) {
+    for (var i = from; i < to; i++)
+      array[i] = null;
+  }
+
+  abstract static class Node {
+    // one spare slot - a node is allowed to overflow for a moment, right before being split
+    final Comparable[] keys;
+    int count;
+
+    Node(int keysCapacity) {
+      keys = new Comparable[keysCapacity];
+    }
+
+    /**
+     * @return index of the first key greater than or equal to given value ({@code count} if there is no such key)
+     */
+    int lowerBound(Comparable value) {
+      var low = 0;
+      var high = count;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (ComparableUtils.isLesserThan(keys[middle], value))
+          low = middle + 1;
+        else
+          high = middle;
+      }
+      return low;
+    }
+
+    void insertKey(int index, Comparable key) {
+      System.arraycopy(keys, index, keys, index + 1, count - index);
+      keys[index] = key;
+      count++;
+    }
+
+    void removeKey(int index) {
+      System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+      keys[--count] = null;
+    }
+  }
+
+  static class LeafNode extends Node {
+    LeafNode next;
+
+    LeafNode(int keysCapacity) {
+      super(keysCapacity);
+    }
+
+    int indexOf(Comparable value) {
+      final var index = lowerBound(value);
+      return index < count && ComparableUtils.isEqualTo(keys[index], value) ? index : -1;
+    }
+  }
+
+  /**
+   * Holds {@code count} separators and {@code count + 1} children - {@code children[i]} holds values lesser than {@code keys[i]},
+   * and greater than or equal to {@code keys[i - 1]}
+   */
+  static class InnerNode extends Node {
+    final Node[] children;
+
+    InnerNode(int keysCapacity) {
+      super(keysCapacity);
+      children = new Node[keysCapacity + 1];
+    }
+
+    int childIndex(Comparable value) {
+      // number of separators lesser than or equal to the value
+      final var index = lowerBound(value);
+      return index < count && ComparableUtils.isEqualTo(keys[index], value) ? index + 1 : index;
+    }
+
+    // expects `count` to already include the separator added for this child
+    void insertChild(int index, Node child) {
+      System.arraycopy(children, index, children, index + 1, count - index);
+      children[index] = child;
+    }
+
+    // expects `count` to already exclude the separator removed along with this child
+    void removeChild(int index) {
+      System.arraycopy(children, index + 1, children, index, count + 1 - index);
+      children[count + 1] = null;
+    }
+  }
+
+}
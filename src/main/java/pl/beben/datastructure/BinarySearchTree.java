@@ -2,132 +2,472 @@ package pl.beben.datastructure;
 
 import lombok.NonNull;
 import pl.beben.utils.ComparableUtils;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
 /**
  * Basic (not self-balancing) binary search tree implementation
+ * (see {@link pl.beben.datastructure.AvlTree} for a self-balancing one). <br/>
+ * Every operation is iterative, so even a degenerated (linked list like) tree can't overflow the stack,
+ * and none of add/contains/remove allocates anything apart from the node being added. <br/>
+ * Every node knows the size of its subtree, which makes order statistics ({@link #rank(Comparable)}, {@link #select(int)}) cheap.
  * @implNote equality is checked using {@link Comparable#compareTo(Object)} method
  */
 public class BinarySearchTree<VALUE extends Comparable> {
 
   Node<VALUE> rootNode;
 
+  /**
+   * Builds a perfectly balanced tree in <i>O(n)</i> - as opposed to adding the values one by one,
+   * which for sorted input costs <i>O(n<sup>2</sup>)</i> and produces a degenerated (linked list like) tree. <br/>
+   * Equal values are the exception - they always go right (that's what {@link #rank(Comparable)} and {@link #remove(Comparable)}
+   * rely on), so a run of k equal values can't be balanced and adds k levels to the tree, the same way {@link #add(Comparable)} would.
+   * @param sortedValues values in ascending order
+   * @throws java.lang.IllegalArgumentException if the values are not sorted
+   */
+  public static <VALUE extends Comparable> BinarySearchTree<VALUE> fromSorted(@NonNull List<VALUE> sortedValues) {
+    final Node<VALUE>[] nodes = new Node[sortedValues.size()];
+
+    var index = 0;
+    for (final var value : sortedValues) {
+      if (value == null)
+        throw new IllegalArgumentException("Values must not be null");
+      if (index > 0 && isGreaterThan(nodes[index - 1].value, value))
+        throw new IllegalArgumentException("Values must be sorted, but " + nodes[index - 1].value + " precedes " + value);
+
+      nodes[index++] = new Node<>(value);
+    }
+
+    final var tree = new BinarySearchTree<VALUE>();
+    tree.rootNode = linkBalanced(nodes);
+    return tree;
+  }
+
+  public static <VALUE extends Comparable> BinarySearchTree<VALUE> fromSorted(@NonNull VALUE[] sortedValues) {
+    return fromSorted(Arrays.asList(sortedValues));
+  }
+
   public void add(@NonNull VALUE value) {
-    if (rootNode == null)
+    if (rootNode == null) {
       rootNode = new Node<>(value);
-    else
-      rootNode.add(value);
+      return;
+    }
+
+    var node = rootNode;
+    while (true) {
+      // the value is going to end up somewhere below, so every node on the way gets one more descendant
+      node.size++;
+
+      if (isGreaterThan(node.value, value)) {
+        if (node.left == null) {
+          node.left = new Node<>(value);
+          return;
+        }
+        node = node.left;
+      } else {
+        if (node.right == null) {
+          node.right = new Node<>(value);
+          return;
+        }
+        node = node.right;
+      }
+    }
   }
 
   public boolean contains(VALUE value) {
-    return
-      value != null &&
-      rootNode != null &&
-      rootNode.contains(value);
+    if (value == null)
+      return false;
+
+    var node = rootNode;
+    while (node != null && !isEqualTo(node.value, value))
+      node = isGreaterThan(node.value, value) ? node.left : node.right;
+
+    return node != null;
   }
 
   public boolean remove(VALUE value) {
-    return
-      value != null &&
-      rootNode != null &&
-      rootNode.remove(
-        replacement -> rootNode = replacement,
-        value
-      );
+    if (value == null)
+      return false;
+
+    // instead of the "replace self" callbacks, keep track of the parent - it's the one that has to be relinked
+    Node<VALUE> parent = null;
+    var node = rootNode;
+
+    while (node != null && !isEqualTo(node.value, value)) {
+      parent = node;
+      node = isGreaterThan(node.value, value) ? node.left : node.right;
+    }
+
+    if (node == null)
+      return false;
+
+    decrementSizesOnPathTo(node);
+
+    if (node.left != null && node.right != null) {
+      // Two children - the node takes over the value of its successor (the min node greater than it),
+      // and it's the successor that gets unlinked instead
+      var parentOfSuccessor = node;
+      var successor = node.right;
+
+      while (successor.left != null) {
+        // it's the successor's node that is being unlinked, so the path below the node loses a descendant as well
+        successor.size--;
+        parentOfSuccessor = successor;
+        successor = successor.left;
+      }
+
+      node.value = successor.value;
+
+      // The successor has no left child (it's the min node), but it may have a right one - which must not be lost.
+      // Also, the successor might be the direct right child of the node.
+      if (parentOfSuccessor == node)
+        parentOfSuccessor.right = successor.right;
+      else
+        parentOfSuccessor.left = successor.right;
+    } else {
+      // zero or one child - the child (or null) takes the place of the node
+      replaceChild(parent, node, node.left != null ? node.left : node.right);
+    }
+
+    return true;
   }
 
-  public void forEach(Consumer<VALUE> consumer) {
-    if (rootNode != null)
-      rootNode.forEach(consumer);
+  public int size() {
+    return size(rootNode);
   }
 
-  static class Node<NODE_VALUE extends Comparable> {
-    Node<NODE_VALUE> left;
-    Node<NODE_VALUE> right;
-    NODE_VALUE value;
+  /**
+   * Costs <i>O(height)</i>
+   * @return number of values strictly lesser than given one (which is also the index the value has, or would have, in sorted order)
+   */
+  public int rank(@NonNull VALUE value) {
+    var rank = 0;
+    var node = rootNode;
 
-    Node(NODE_VALUE value) {
-      this.value = value;
+    while (node != null) {
+      if (isGreaterThan(node.value, value)) {
+        node = node.left;
+      } else if (isEqualTo(node.value, value)) {
+        // equal values always go right, so every lesser one of this subtree is in the left subtree
+        return rank + size(node.left);
+      } else {
+        // the node and its whole left subtree are lesser than the value
+        rank += size(node.left) + 1;
+        node = node.right;
+      }
     }
+    return rank;
+  }
 
-    void add(NODE_VALUE value) {
-      if (isGreaterThan(value)) {
-        if (left == null)
-          left = new Node(value);
-        else
-          left.add(value);
+  /**
+   * Costs <i>O(height)</i>
+   * @param index 0-based index of the value in sorted order
+   * @return the index-th smallest value
+   * @throws java.lang.IndexOutOfBoundsException if the index is not within [0, size)
+   */
+  public VALUE select(int index) {
+    if (index < 0 || index >= size())
+      throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size());
+
+    var node = rootNode;
+    while (true) {
+      final var leftSize = size(node.left);
+
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index == leftSize) {
+        return node.value;
       } else {
-        if (right == null)
-          right = new Node(value);
-        else
-          right.add(value);
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the tree into a perfectly balanced one (apart from runs of equal values, see {@link #fromSorted(List)}), in <i>O(n)</i>.
+   * The nodes are reused - only relinked.
+   */
+  public void rebalance() {
+    final Node<VALUE>[] nodes = new Node[size()];
+
+    // gather the nodes in order - the same way RangeIterator does it, but it needs the nodes rather than the values
+    final var stack = new ArrayDeque<Node<VALUE>>();
+    var node = rootNode;
+    var index = 0;
+
+    while (node != null || !stack.isEmpty()) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
       }
+      node = stack.pop();
+      nodes[index++] = node;
+      node = node.right;
     }
 
-    boolean contains(NODE_VALUE value) {
-      if (isEqualTo(value))
-        return true;
-      else if (isGreaterThan(value))
-        return left != null && left.contains(value);
-      else
-        return right != null && right.contains(value);
-    }
-
-    boolean remove(Consumer<Node<NODE_VALUE>> replaceSelf, NODE_VALUE value) {
-      if (isEqualTo(value)) {
-        removeSelf(replaceSelf);
-        return true;
-      } else if (isGreaterThan(value)) {
-        return left != null && left.remove(
-          replacement -> left = replacement,
-          value
-        );
-      } else {
-        return right != null && right.remove(
-          replacement -> right = replacement,
-          value
-        );
+    rootNode = linkBalanced(nodes);
+  }
+
+  /**
+   * In-order traversal with an explicit stack (of the nodes whose left subtree is being visited) rather than the call stack.
+   * The tree is only read, so the consumer may read it as well.
+   */
+  public void forEach(Consumer<VALUE> consumer) {
+    final var stack = new ArrayDeque<Node<VALUE>>();
+    var node = rootNode;
+
+    while (node != null || !stack.isEmpty()) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
       }
+      node = stack.pop();
+      consumer.accept(node.value);
+      node = node.right;
     }
+  }
 
-    private void removeSelf(Consumer<Node<NODE_VALUE>> replaceSelf) {
-      if (left == null && right == null) {
-        replaceSelf.accept(null);
-      } else if (left == null) {
-        replaceSelf.accept(right);
-      } else if (right == null) {
-        replaceSelf.accept(left);
+  /**
+   * @return the smallest value, {@literal null} if the tree is empty
+   */
+  public VALUE min() {
+    if (rootNode == null)
+      return null;
+
+    var node = rootNode;
+    while (node.left != null)
+      node = node.left;
+    return node.value;
+  }
+
+  /**
+   * @return the greatest value, {@literal null} if the tree is empty
+   */
+  public VALUE max() {
+    if (rootNode == null)
+      return null;
+
+    var node = rootNode;
+    while (node.right != null)
+      node = node.right;
+    return node.value;
+  }
+
+  /**
+   * @return the greatest value lesser than or equal to given one, {@literal null} if there is no such value
+   */
+  public VALUE floor(@NonNull VALUE value) {
+    VALUE floor = null;
+    var node = rootNode;
+
+    while (node != null) {
+      if (isGreaterThan(node.value, value)) {
+        node = node.left;
       } else {
-        var parentOfMinNodeGreaterThanThis = this;
-        var minNodeGreaterThanThis = right;
+        // a candidate - but there might be a greater one (still not greater than the value) in the right subtree
+        floor = node.value;
+        node = node.right;
+      }
+    }
+    return floor;
+  }
 
-        while (minNodeGreaterThanThis.left != null) {
-          parentOfMinNodeGreaterThanThis = minNodeGreaterThanThis;
-          minNodeGreaterThanThis = minNodeGreaterThanThis.left;
-        }
+  /**
+   * @return the smallest value greater than or equal to given one, {@literal null} if there is no such value
+   */
+  public VALUE ceiling(@NonNull VALUE value) {
+    VALUE ceiling = null;
+    var node = rootNode;
 
-        this.value = minNodeGreaterThanThis.value;
-        parentOfMinNodeGreaterThanThis.left = null;
+    while (node != null) {
+      if (isEqualTo(node.value, value))
+        return node.value;
+
+      if (isGreaterThan(node.value, value)) {
+        // a candidate - but there might be a smaller one (still not smaller than the value) in the left subtree
+        ceiling = node.value;
+        node = node.left;
+      } else {
+        node = node.right;
       }
     }
+    return ceiling;
+  }
+
+  /**
+   * Calls the consumer for every value within [from, to] range, in order. <br/>
+   * Subtrees lying entirely outside the range are never visited, so it costs <i>O(height + k)</i> rather than <i>O(n)</i>.
+   */
+  public void rangeForEach(@NonNull VALUE from, @NonNull VALUE to, Consumer<VALUE> consumer) {
+    final var iterator = iterator(from, to);
+    while (iterator.hasNext())
+      consumer.accept(iterator.next());
+  }
+
+  /**
+   * @return lazy in-order iterator over every value
+   */
+  public Iterator<VALUE> iterator() {
+    return new RangeIterator(null, null);
+  }
+
+  /**
+   * @return lazy in-order iterator over values within [from, to] range
+   */
+  public Iterator<VALUE> iterator(@NonNull VALUE from, @NonNull VALUE to) {
+    return new RangeIterator(from, to);
+  }
+
+  /**
+   * Links the (sorted) nodes into a balanced tree - the middle node of a range becomes the root of its subtree,
+   * and both halves of the range become its subtrees. <br/>
+   * Iterative, with an explicit stack of the ranges yet to be linked - a run of equal values makes the tree as deep as the run is long,
+   * and so would the recursion.
+   * @return root of the tree
+   */
+  private static <VALUE extends Comparable> Node<VALUE> linkBalanced(Node<VALUE>[] nodes) {
+    final var root = new Node<VALUE>(null);
+    final var ranges = new ArrayDeque<Range<VALUE>>();
+    ranges.push(new Range<>(0, nodes.length, root, false));
+
+    while (!ranges.isEmpty()) {
+      final var range = ranges.pop();
+      if (range.from() >= range.to())
+        continue;
+
+      final var middle = firstEqualNodeIndex(nodes, range.from(), (range.from() + range.to()) >>> 1);
+      final var node = nodes[middle];
+      node.left = null;
+      node.right = null;
+      node.size = range.to() - range.from();
+
+      if (range.isLeftChild())
+        range.parent().left = node;
+      else
+        range.parent().right = node;
+
+      ranges.push(new Range<>(range.from(), middle, node, true));
+      ranges.push(new Range<>(middle + 1, range.to(), node, false));
+    }
+
+    // the tree is the right subtree of a placeholder node
+    return root.right;
+  }
+
+  /**
+   * Equal values must always be on the right side (that's where `add` puts them) - hence the first one of them becomes the root.
+   * Binary search, rather than stepping back one by one, which would cost <i>O(n<sup>2</sup>)</i> for a long run of equal values.
+   * @return index of the first node within [from, index] range, whose value is equal to the value of the node at given index
+   */
+  private static <VALUE extends Comparable> int firstEqualNodeIndex(Node<VALUE>[] nodes, int from, int index) {
+    final var value = nodes[index].value;
+    var low = from;
+    var high = index;
+
+    while (low < high) {
+      final var middle = (low + high) >>> 1;
+      if (isEqualTo(nodes[middle].value, value))
+        high = middle;
+      else
+        low = middle + 1;
+    }
+    return low;
+  }
+
+  // [from, to) range of the nodes, which is going to become the left or right subtree of the parent
+  private record Range<VALUE extends Comparable>(int from, int to, Node<VALUE> parent, boolean isLeftChild) {}
+
+  // same path as the one taken by `remove` to find the node
+  private void decrementSizesOnPathTo(Node<VALUE> target) {
+    var node = rootNode;
+    while (node != target) {
+      node.size--;
+      node = isGreaterThan(node.value, target.value) ? node.left : node.right;
+    }
+    node.size--;
+  }
+
+  private static int size(Node<?> node) {
+    return node != null ? node.size : 0;
+  }
+
+  private void replaceChild(Node<VALUE> parent, Node<VALUE> child, Node<VALUE> replacement) {
+    if (parent == null)
+      rootNode = replacement;
+    else if (parent.left == child)
+      parent.left = replacement;
+    else
+      parent.right = replacement;
+  }
+
+  private static boolean isGreaterThan(Comparable a, Comparable b) {
+    return ComparableUtils.isGreaterThan(a, b);
+  }
+
+  private static boolean isEqualTo(Comparable a, Comparable b) {
+    return ComparableUtils.isEqualTo(a, b);
+  }
+
+  /**
+   * In-order traversal with an explicit stack, holding the path of nodes whose values (and right subtrees) are yet to be visited. <br/>
+   * Nodes lesser than {@code from} are skipped along with their left subtrees, and the iteration stops at the first value greater than {@code to}.
+   * A {@literal null} bound means there is no bound.
+   */
+  private class RangeIterator implements Iterator<VALUE> {
 
-    void forEach(Consumer<NODE_VALUE> consumer) {
-      if (left != null)
-        left.forEach(consumer);
+    private final VALUE from;
+    private final VALUE to;
+    private final Deque<Node<VALUE>> stack = new ArrayDeque<>();
 
-      consumer.accept(this.value);
+    RangeIterator(VALUE from, VALUE to) {
+      this.from = from;
+      this.to = to;
+      pushLeftPath(rootNode);
+    }
 
-      if (right != null)
-        right.forEach(consumer);
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty() && (to == null || !isGreaterThan(stack.peek().value, to));
     }
 
-    private boolean isGreaterThan(NODE_VALUE value) {
-      return ComparableUtils.isGreaterThan(this.value, value);
+    @Override
+    public VALUE next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+
+      final var node = stack.pop();
+      pushLeftPath(node.right);
+      return node.value;
     }
 
-    private boolean isEqualTo(NODE_VALUE value) {
-      return ComparableUtils.isEqualTo(this.value, value);
+    private void pushLeftPath(Node<VALUE> node) {
+      while (node != null) {
+        if (from != null && isGreaterThan(from, node.value)) {
+          // the node and its whole left subtree are out of range
+          node = node.right;
+        } else {
+          stack.push(node);
+          node = node.left;
+        }
+      }
     }
+  }
 
+  static class Node<NODE_VALUE extends Comparable> {
+    Node<NODE_VALUE> left;
+    Node<NODE_VALUE> right;
+    NODE_VALUE value;
+    // number of nodes in the subtree rooted in this node (including itself)
+    int size = 1;
+
+    Node(NODE_VALUE value) {
+      this.value = value;
+    }
   }
 }
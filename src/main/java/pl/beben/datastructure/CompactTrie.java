@@ -0,0 +1,193 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Read-only, compact version of {@link pl.beben.datastructure.Trie}, built from an existing one. <br/>
+ * Instead of a node object (with its own HashMap of boxed characters) per character, the whole structure is kept in a few flat arrays -
+ * nodes are numbered in level order (breadth first, children of every node sorted by their character),
+ * which makes the children of every node a contiguous range of numbers:
+ * <pre>
+ *   Trie of "car", "card", "dog"
+ *
+ *              ROOT(0)
+ *         c(1)        d(2)
+ *         a(3)        o(4)
+ *         r(5):       g(6):
+ *         d(7):
+ *
+ *   node                   0  1  2  3  4  5  6  7
+ *   characters             -  c  d  a  o  r  g  d
+ *   firstChildren          1  3  4  5  6  7  8  8  8
+ *   endOfWordNodes               (5, 6, 7)
+ * </pre>
+ * Children of node {@code i} are the nodes within [firstChildren[i], firstChildren[i + 1]) range, and the one labelled with given
+ * character is found with a binary search over their (sorted) characters. <br/>
+ * It's the idea behind LOUDS (level-order unary degree sequence) encoding, but with plain offsets instead of
+ * a bit vector with rank/select support - a bit less compact, but every step is just a couple of array reads. <br/>
+ * Costs 6 bytes and a bit per node, and a lookup doesn't allocate anything.
+ */
+public class CompactTrie {
+
+  private static final int ROOT = 0;
+  private static final int NOT_FOUND = -1;
+
+  // character of the edge leading to given node (the root has none)
+  final char[] characters;
+  // children of node i are within [firstChildren[i], firstChildren[i + 1]) range (the last element is a sentinel)
+  final int[] firstChildren;
+  final BitSet endOfWordNodes;
+
+  private CompactTrie(char[] characters, int[] firstChildren, BitSet endOfWordNodes) {
+    this.characters = characters;
+    this.firstChildren = firstChildren;
+    this.endOfWordNodes = endOfWordNodes;
+  }
+
+  /**
+   * Costs <i>O(n log k)</i>, where n is the number of nodes and k is the greatest number of children of a single node
+   * (children have to be sorted). Later modifications of the trie are not reflected in the compact one.
+   */
+  public static CompactTrie from(@NonNull Trie trie) {
+    final var nodeCount = countNodes(trie.root);
+
+    // nodes in level order - only needed while building
+    final var nodes = new Trie.Node[nodeCount];
+    final var characters = new char[nodeCount];
+    final var firstChildren = new int[nodeCount + 1];
+    final var endOfWordNodes = new BitSet(nodeCount);
+
+    nodes[ROOT] = trie.root;
+    var nextNode = ROOT + 1;
+
+    // every node appends its children to the end, so by the time the loop gets to a node, it has already been numbered
+    for (var node = ROOT; node < nodeCount; node++) {
+      firstChildren[node] = nextNode;
+
+      if (nodes[node].isEndOfWord)
+        endOfWordNodes.set(node);
+
+      final var childCharacters = new char[nodes[node].charToNode.size()];
+      var i = 0;
+      for (final var character : nodes[node].charToNode.keySet())
+        childCharacters[i++] = character;
+      Arrays.sort(childCharacters);
+
+      for (final var character : childCharacters) {
+        nodes[nextNode] = nodes[node].charToNode.get(character);
+        characters[nextNode] = character;
+        nextNode++;
+      }
+    }
+    firstChildren[nodeCount] = nextNode;
+
+    return new CompactTrie(characters, firstChildren, endOfWordNodes);
+  }
+
+  public boolean containsWord(@NonNull String word) {
+    final var node = findNode(word);
+    return node != NOT_FOUND && endOfWordNodes.get(node);
+  }
+
+  public boolean contains(@NonNull String string) {
+    return findNode(string) != NOT_FOUND;
+  }
+
+  /**
+   * @return every word starting with given prefix (including the prefix itself, if it is a word), empty set if there is none
+   */
+  public Set<String> searchWordsStartingWith(@NonNull String prefix) {
+    final var words = new HashSet<String>();
+
+    final var prefixNode = findNode(prefix);
+    if (prefixNode == NOT_FOUND)
+      return words;
+
+    // depth first, with a single buffer - a node's character is appended after trimming the buffer to the depth of its parent
+    var nodeStack = new int[16];
+    var depthStack = new int[16];
+    var stackSize = 0;
+    final var wordBuilder = new StringBuilder(prefix);
+
+    nodeStack[stackSize] = prefixNode;
+    depthStack[stackSize] = prefix.length();
+    stackSize++;
+
+    while (stackSize > 0) {
+      stackSize--;
+      final var node = nodeStack[stackSize];
+      final var depth = depthStack[stackSize];
+
+      wordBuilder.setLength(depth);
+      if (node != prefixNode)
+        wordBuilder.append(characters[node]);
+
+      if (endOfWordNodes.get(node))
+        words.add(wordBuilder.toString());
+
+      final var childCount = firstChildren[node + 1] - firstChildren[node];
+      if (stackSize + childCount > nodeStack.length) {
+        nodeStack = Arrays.copyOf(nodeStack, Math.max(nodeStack.length * 2, stackSize + childCount));
+        depthStack = Arrays.copyOf(depthStack, nodeStack.length);
+      }
+
+      for (var child = firstChildren[node]; child < firstChildren[node + 1]; child++) {
+        nodeStack[stackSize] = child;
+        depthStack[stackSize] = wordBuilder.length();
+        stackSize++;
+      }
+    }
+
+    return words;
+  }
+
+  /**
+   * @return number of nodes, including the root
+   */
+  public int nodeCount() {
+    return characters.length;
+  }
+
+  private int findNode(String string) {
+    var node = ROOT;
+    for (var i = 0; node != NOT_FOUND && i < string.length(); i++)
+      node = findChild(node, string.charAt(i));
+    return node;
+  }
+
+  private int findChild(int node, char character) {
+    var low = firstChildren[node];
+    var high = firstChildren[node + 1] - 1;
+
+    while (low <= high) {
+      final var middle = (low + high) >>> 1;
+
+      if (characters[middle] < character)
+        low = middle + 1;
+      else if (characters[middle] > character)
+        high = middle - 1;
+      else
+        return middle;
+    }
+    return NOT_FOUND;
+  }
+
+  private static int countNodes(Trie.Node root) {
+    var count = 0;
+    final var stack = new ArrayDeque<Trie.Node>();
+    stack.push(root);
+
+    while (!stack.isEmpty()) {
+      final var node = stack.pop();
+      count++;
+      node.charToNode.values().forEach(stack::push);
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,211 @@
+package pl.beben.datastructure;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread safe version of {@link pl.beben.datastructure.HashTable} (same buckets & chains model). <br/>
+ * <ul>
+ *   <li>reads take no locks at all - chains are never modified in place (see {@link Node}), so a reader always sees a consistent chain</li>
+ *   <li>writes lock only a single stripe (a fixed subset of buckets), so writers working on different stripes don't block each other</li>
+ *   <li>resize locks every stripe (blocking writers only), builds a new table aside and publishes it with a single volatile write -
+ *       until then readers keep on using the previous one, which stays valid</li>
+ * </ul>
+ * @implNote adding a key that is already present overrides its value
+ */
+public class ConcurrentHashTable<KEY, VALUE> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+  private static final int DEFAULT_STRIPE_COUNT = 16;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private final ReentrantLock[] stripeLocks;
+
+  // replaced as a whole on resize, hence volatile
+  volatile AtomicReferenceArray<Node<KEY, VALUE>> buckets;
+
+  // updated by many threads at once - LongAdder doesn't make them all fight for a single memory location
+  private final LongAdder size = new LongAdder();
+
+  public ConcurrentHashTable() {
+    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_STRIPE_COUNT);
+  }
+
+  /**
+   * @param stripeCount how many locks are shared among buckets, roughly how many threads can write at the same time
+   */
+  public ConcurrentHashTable(int initialCapacity, int stripeCount) {
+    if (stripeCount < 1)
+      throw new IllegalArgumentException("Stripe count must be positive");
+
+    // Both are powers of two and there are never fewer buckets than stripes, so a bucket always belongs to
+    // the same stripe (`bucketIndex & (stripeCount - 1)`) no matter how many times the table has been resized
+    final var roundedStripeCount = PrimitiveHashing.tableCapacityFor(stripeCount);
+    final var roundedCapacity = Math.max(roundedStripeCount, PrimitiveHashing.tableCapacityFor(initialCapacity));
+
+    stripeLocks = new ReentrantLock[roundedStripeCount];
+    for (var i = 0; i < stripeLocks.length; i++)
+      stripeLocks[i] = new ReentrantLock();
+
+    buckets = new AtomicReferenceArray<>(roundedCapacity);
+  }
+
+  public void add(KEY key, VALUE value) {
+    Objects.requireNonNull(key, "key");
+    final var hash = spread(key.hashCode());
+    final var lock = stripeLocks[hash & (stripeLocks.length - 1)];
+
+    lock.lock();
+    try {
+      // read after locking - a resize can't happen while we're holding one of the stripe locks
+      final var table = buckets;
+      final var bucketIndex = hash & (table.length() - 1);
+      final var head = table.get(bucketIndex);
+
+      for (var node = head; node != null; node = node.next) {
+        if (node.hash == hash && node.key.equals(key)) {
+          node.value = value;
+          return;
+        }
+      }
+
+      table.set(bucketIndex, new Node<>(hash, key, value, head));
+      size.increment();
+    } finally {
+      lock.unlock();
+    }
+
+    resizeIfNecessary();
+  }
+
+  /**
+   * @return whether the element has been successfully removed
+   */
+  public boolean remove(KEY key) {
+    if (key == null)
+      return false;
+
+    final var hash = spread(key.hashCode());
+    final var lock = stripeLocks[hash & (stripeLocks.length - 1)];
+
+    lock.lock();
+    try {
+      final var table = buckets;
+      final var bucketIndex = hash & (table.length() - 1);
+      final var head = table.get(bucketIndex);
+
+      var removedNode = head;
+      while (removedNode != null && !(removedNode.hash == hash && removedNode.key.equals(key)))
+        removedNode = removedNode.next;
+
+      if (removedNode == null)
+        return false;
+
+      // Nodes are immutable, so the ones preceding the removed node are copied on top of its successors.
+      // Readers that are in the middle of the old chain are unaffected.
+      var newHead = removedNode.next;
+      for (var node = head; node != removedNode; node = node.next)
+        newHead = new Node<>(node.hash, node.key, node.value, newHead);
+
+      table.set(bucketIndex, newHead);
+      size.decrement();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean containsKey(KEY key) {
+    return findNode(key) != null;
+  }
+
+  /**
+   * @return value assigned to given key, {@literal null} if the key is absent
+   */
+  public VALUE get(KEY key) {
+    return getOrDefault(key, null);
+  }
+
+  public VALUE getOrDefault(KEY key, VALUE defaultValue) {
+    final var node = findNode(key);
+    return node != null ? node.value : defaultValue;
+  }
+
+  /**
+   * @return number of entries, might be already outdated if other threads are modifying the table at the same time
+   */
+  public int size() {
+    return size.intValue();
+  }
+
+  private Node<KEY, VALUE> findNode(KEY key) {
+    if (key == null)
+      return null;
+
+    final var hash = spread(key.hashCode());
+    final var table = buckets;
+
+    var node = table.get(hash & (table.length() - 1));
+    while (node != null && !(node.hash == hash && node.key.equals(key)))
+      node = node.next;
+
+    return node;
+  }
+
+  private void resizeIfNecessary() {
+    if (size.sum() <= buckets.length() * LOAD_FACTOR)
+      return;
+
+    // always in the same order, so two resizing threads can't deadlock
+    for (final var lock : stripeLocks)
+      lock.lock();
+
+    try {
+      final var table = buckets;
+
+      // someone else might have resized the table while we've been waiting for the locks
+      if (size.sum() <= table.length() * LOAD_FACTOR)
+        return;
+
+      final var resizedTable = new AtomicReferenceArray<Node<KEY, VALUE>>(table.length() * 2);
+
+      for (var i = 0; i < table.length(); i++) {
+        for (var node = table.get(i); node != null; node = node.next) {
+          final var resizedIndex = node.hash & (resizedTable.length() - 1);
+          resizedTable.set(resizedIndex, new Node<>(node.hash, node.key, node.value, resizedTable.get(resizedIndex)));
+        }
+      }
+
+      buckets = resizedTable;
+    } finally {
+      for (final var lock : stripeLocks)
+        lock.unlock();
+    }
+  }
+
+  // the table's index is taken from the lowest bits, so the highest ones are mixed into them
+  private static int spread(int hashCode) {
+    return hashCode ^ (hashCode >>> 16);
+  }
+
+  /**
+   * Only the value can change after the node has been created (and it's volatile, so readers see the latest one).
+   * Removing or rehashing creates new nodes instead of relinking existing ones.
+   */
+  static class Node<NODE_KEY, NODE_VALUE> {
+    final int hash;
+    final NODE_KEY key;
+    volatile NODE_VALUE value;
+    final Node<NODE_KEY, NODE_VALUE> next;
+
+    Node(int hash, NODE_KEY key, NODE_VALUE value, Node<NODE_KEY, NODE_VALUE> next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+}
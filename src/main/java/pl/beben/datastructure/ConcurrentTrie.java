@@ -0,0 +1,274 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe version of {@link pl.beben.datastructure.Trie} - any number of threads may add, remove and search words at the same time,
+ * and none of them ever blocks. <br/>
+ * Nodes are immutable, so instead of modifying a node, a writer copies every node on the path from the root to it
+ * (the same way {@link pl.beben.datastructure.PersistentBinarySearchTree} does it), and then swaps the root with a CAS.
+ * If another writer has swapped it in the meantime, the whole operation is retried against the new root. <br/>
+ * Readers never retry - they read the root once and search the (immutable) trie it points to. For the same reason,
+ * taking a {@link #snapshot()} is <i>O(1)</i> - it's just the current root. <br/>
+ * Writers contend on the root, so it's best suited to a few writers (e.g. a background loader) and many readers -
+ * which is the trade-off for being much simpler than a Ctrie (which CASes indirection nodes spread across the whole trie).
+ */
+public class ConcurrentTrie {
+
+  private static final char[] NO_CHILD_CHARACTERS = new char[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+
+  private final AtomicReference<Node> root;
+
+  public ConcurrentTrie() {
+    this(emptyNode('\0'));
+  }
+
+  private ConcurrentTrie(Node root) {
+    this.root = new AtomicReference<>(root);
+  }
+
+  /**
+   * @return whether the word has been added (false if it was already there)
+   */
+  public boolean addWord(@NonNull String word) {
+    if (word.isEmpty())
+      return false;
+
+    while (true) {
+      final var currentRoot = root.get();
+      final var newRoot = addWord(currentRoot, word);
+
+      if (newRoot == currentRoot)
+        return false;
+      if (root.compareAndSet(currentRoot, newRoot))
+        return true;
+    }
+  }
+
+  /**
+   * @return whether the word has been removed (false if it wasn't there)
+   */
+  public boolean removeWord(@NonNull String word) {
+    while (true) {
+      final var currentRoot = root.get();
+      final var newRoot = removeWord(currentRoot, word);
+
+      if (newRoot == currentRoot)
+        return false;
+      if (root.compareAndSet(currentRoot, newRoot))
+        return true;
+    }
+  }
+
+  public boolean containsWord(@NonNull String word) {
+    final var node = findNode(root.get(), word);
+    return node != null && node.isEndOfWord;
+  }
+
+  public boolean contains(@NonNull String string) {
+    return findNode(root.get(), string) != null;
+  }
+
+  /**
+   * @return every word starting with given prefix (including the prefix itself, if it is a word) at the moment of the call
+   * - words added or removed during the search are not taken into account
+   */
+  public Set<String> searchWordsStartingWith(@NonNull String prefix) {
+    final var words = new HashSet<String>();
+
+    final var prefixNode = findNode(root.get(), prefix);
+    if (prefixNode == null)
+      return words;
+
+    // depth first, with a single buffer - a node's character is appended after trimming the buffer to the length of its parent's path
+    final var nodeStack = new ArrayDeque<Node>();
+    final var pathLengthStack = new ArrayDeque<Integer>();
+    final var wordBuilder = new StringBuilder(prefix);
+
+    if (prefixNode.isEndOfWord)
+      words.add(prefix);
+    pushChildren(nodeStack, pathLengthStack, prefixNode, prefix.length());
+
+    while (!nodeStack.isEmpty()) {
+      final var node = nodeStack.pop();
+      final int pathLength = pathLengthStack.pop();
+
+      wordBuilder.setLength(pathLength);
+      wordBuilder.append(node.character);
+
+      if (node.isEndOfWord)
+        words.add(wordBuilder.toString());
+
+      pushChildren(nodeStack, pathLengthStack, node, pathLength + 1);
+    }
+
+    return words;
+  }
+
+  /**
+   * @return independent copy of the trie, in <i>O(1)</i> - modifications of either one are not visible in the other
+   */
+  public ConcurrentTrie snapshot() {
+    return new ConcurrentTrie(root.get());
+  }
+
+  /**
+   * @return new root, or the same one if the word is already there
+   */
+  private static Node addWord(Node root, String word) {
+    final var path = findPath(root, word);
+
+    final var node = path[word.length()];
+    if (node != null && node.isEndOfWord)
+      return root;
+
+    // bottom-up - the nodes that don't exist yet are created, every other one is copied with its new child
+    var newNode = node != null
+      ? node.withEndOfWord(true)
+      : emptyNode(word.charAt(word.length() - 1)).withEndOfWord(true);
+
+    for (var i = word.length() - 1; i >= 0; i--) {
+      final var parent = path[i] != null
+        ? path[i]
+        : emptyNode(word.charAt(i - 1)); // the root always exists, so i > 0 here
+      newNode = parent.withChild(newNode);
+    }
+    return newNode;
+  }
+
+  /**
+   * @return new root, or the same one if the word is not there
+   */
+  private static Node removeWord(Node root, String word) {
+    final var path = findPath(root, word);
+
+    final var node = path[word.length()];
+    if (node == null || !node.isEndOfWord)
+      return root;
+
+    // bottom-up - every node that's left with no children (and is not an end of another word) is removed as well
+    var newNode = node.withEndOfWord(false);
+
+    for (var i = word.length() - 1; i >= 0; i--) {
+      final var character = word.charAt(i);
+      newNode = newNode.isEmpty()
+        ? path[i].withoutChild(character)
+        : path[i].withChild(newNode);
+    }
+    return newNode;
+  }
+
+  /**
+   * @return nodes on the path of given string, starting with the root - null from the first one that doesn't exist
+   */
+  private static Node[] findPath(Node root, String string) {
+    final var path = new Node[string.length() + 1];
+    path[0] = root;
+
+    for (var i = 0; i < string.length() && path[i] != null; i++)
+      path[i + 1] = path[i].child(string.charAt(i));
+
+    return path;
+  }
+
+  private static Node findNode(Node root, String string) {
+    var node = root;
+    for (var i = 0; node != null && i < string.length(); i++)
+      node = node.child(string.charAt(i));
+    return node;
+  }
+
+  private static Node emptyNode(char character) {
+    return new Node(character, false, NO_CHILD_CHARACTERS, NO_CHILDREN);
+  }
+
+  private static void pushChildren(ArrayDeque<Node> nodeStack, ArrayDeque<Integer> pathLengthStack, Node node, int pathLength) {
+    for (final var child : node.children) {
+      nodeStack.push(child);
+      pathLengthStack.push(pathLength);
+    }
+  }
+
+  /**
+   * Immutable - every "modification" returns a copy. Children are kept in two arrays sorted by the character,
+   * so that the copies are cheap and a child can be found with a binary search.
+   */
+  static class Node {
+    // character of the edge leading to this node (meaningless for the root)
+    final char character;
+    final boolean isEndOfWord;
+    final char[] childCharacters;
+    final Node[] children;
+
+    Node(char character, boolean isEndOfWord, char[] childCharacters, Node[] children) {
+      this.character = character;
+      this.isEndOfWord = isEndOfWord;
+      this.childCharacters = childCharacters;
+      this.children = children;
+    }
+
+    Node child(char character) {
+      final var index = Arrays.binarySearch(childCharacters, character);
+      return index >= 0 ? children[index] : null;
+    }
+
+    boolean isEmpty() {
+      return !isEndOfWord && children.length == 0;
+    }
+
+    Node withEndOfWord(boolean isEndOfWord) {
+      return new Node(character, isEndOfWord, childCharacters, children);
+    }
+
+    /**
+     * @return copy of this node with given child added, or replacing the one having the same character
+     */
+    Node withChild(Node child) {
+      final var childCharacter = child.character;
+      final var index = Arrays.binarySearch(childCharacters, childCharacter);
+
+      if (index >= 0) {
+        final var newChildren = children.clone();
+        newChildren[index] = child;
+        return new Node(character, isEndOfWord, childCharacters, newChildren);
+      }
+
+      // not found - binarySearch returns (-insertionPoint - 1)
+      final var insertionPoint = -index - 1;
+      final var newChildCharacters = new char[childCharacters.length + 1];
+      final var newChildren = new Node[children.length + 1];
+
+      System.arraycopy(childCharacters, 0, newChildCharacters, 0, insertionPoint);
+      System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+      newChildCharacters[insertionPoint] = childCharacter;
+      newChildren[insertionPoint] = child;
+      System.arraycopy(childCharacters, insertionPoint, newChildCharacters, insertionPoint + 1, childCharacters.length - insertionPoint);
+      System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+
+      return new Node(character, isEndOfWord, newChildCharacters, newChildren);
+    }
+
+    Node withoutChild(char childCharacter) {
+      final var index = Arrays.binarySearch(childCharacters, childCharacter);
+      if (index < 0)
+        return this;
+
+      final var newChildCharacters = new char[childCharacters.length - 1];
+      final var newChildren = new Node[children.length - 1];
+
+      System.arraycopy(childCharacters, 0, newChildCharacters, 0, index);
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(childCharacters, index + 1, newChildCharacters, index, childCharacters.length - index - 1);
+      System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+
+      return new Node(character, isEndOfWord, newChildCharacters, newChildren);
+    }
+  }
+
+}
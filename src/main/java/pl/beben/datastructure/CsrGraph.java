@@ -0,0 +1,160 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, compressed sparse row (CSR) version of a weighted {@link pl.beben.datastructure.Digraph}. <br/>
+ * Every vertex gets an int id (0 to vertex count - 1), and all of the edges are kept in two flat arrays, grouped by their vertex -
+ * the edges of vertex {@code v} are within [offsets[v], offsets[v + 1]) range:
+ * <pre>
+ *   edges: a → b (5), a → c (1), c → b (2)        ids: a = 0, b = 1, c = 2
+ *
+ *   vertex         0        1   2
+ *   offsets        0        2   2      3
+ *   targets        1   2        1
+ *   weights        5   1        2
+ * </pre>
+ * So there is no object per edge (nor boxed weight) and iterating over the edges of a vertex is a sequential read of two arrays,
+ * rather than a walk over a HashSet. An edge is identified by its index in those arrays.
+ */
+public class CsrGraph<VERTEX> {
+
+  public static final int NO_VERTEX = -1;
+
+  final int[] offsets;
+  final int[] targets;
+  final int[] weights;
+
+  private final Object[] idToVertex;
+  private final Map<VERTEX, Integer> vertexToId;
+
+  private CsrGraph(int[] offsets, int[] targets, int[] weights, Object[] idToVertex, Map<VERTEX, Integer> vertexToId) {
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    this.idToVertex = idToVertex;
+    this.vertexToId = vertexToId;
+  }
+
+  /**
+   * Later modifications of the digraph are not reflected in the CSR graph
+   * @throws java.lang.IllegalArgumentException if any edge has no weight
+   */
+  public static <VERTEX> CsrGraph<VERTEX> from(@NonNull Digraph<VERTEX> digraph) {
+    final var vertexToId = new HashMap<VERTEX, Integer>();
+
+    // an edge may lead to (or start at) a vertex that hasn't been created explicitly
+    digraph.vertices.forEach(vertex -> vertexToId.putIfAbsent(vertex, vertexToId.size()));
+    var edgeCount = 0;
+    for (final var vertexAndEdges : digraph.vertexToEdges.entrySet()) {
+      vertexToId.putIfAbsent(vertexAndEdges.getKey(), vertexToId.size());
+      for (final var edge : vertexAndEdges.getValue()) {
+        vertexToId.putIfAbsent(edge.adjacentVertex(), vertexToId.size());
+        edgeCount++;
+      }
+    }
+
+    final var idToVertex = new Object[vertexToId.size()];
+    vertexToId.forEach((vertex, id) -> idToVertex[id] = vertex);
+
+    final var offsets = new int[idToVertex.length + 1];
+    final var targets = new int[edgeCount];
+    final var weights = new int[edgeCount];
+
+    var edgeIndex = 0;
+    for (var id = 0; id < idToVertex.length; id++) {
+      offsets[id] = edgeIndex;
+
+      for (final var edge : digraph.getEdges((VERTEX) idToVertex[id])) {
+        if (edge.weight() == null)
+          throw new IllegalArgumentException("Edge " + edge + " is not valid. Reason: CSR graph requires every edge to be weighted");
+
+        targets[edgeIndex] = vertexToId.get(edge.adjacentVertex());
+        weights[edgeIndex] = edge.weight();
+        edgeIndex++;
+      }
+    }
+    offsets[idToVertex.length] = edgeIndex;
+
+    return new CsrGraph<>(offsets, targets, weights, idToVertex, vertexToId);
+  }
+
+  public int vertexCount() {
+    return idToVertex.length;
+  }
+
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  /**
+   * @return id of given vertex, {@link #NO_VERTEX} if there is no such vertex
+   */
+  public int idOf(VERTEX vertex) {
+    return vertexToId.getOrDefault(vertex, NO_VERTEX);
+  }
+
+  public VERTEX vertexOf(int id) {
+    return (VERTEX) idToVertex[id];
+  }
+
+  /**
+   * @return index of the first edge of given vertex - its edges are within [firstEdge(id), endEdge(id)) range
+   */
+  public int firstEdge(int id) {
+    return offsets[id];
+  }
+
+  /**
+   * @return index following the last edge of given vertex (exclusive)
+   */
+  public int endEdge(int id) {
+    return offsets[id + 1];
+  }
+
+  /**
+   * @return id of the vertex given edge leads to
+   */
+  public int target(int edge) {
+    return targets[edge];
+  }
+
+  public int weight(int edge) {
+    return weights[edge];
+  }
+
+  /**
+   * Costs <i>O(log V)</i> - the edges don't keep their vertex, it's found with a binary search over the offsets
+   * @return id of the vertex given edge starts at
+   */
+  public int source(int edge) {
+    // the last vertex whose first edge is not after given one (there may be a few such vertices, the ones with no edges come first)
+    var low = 0;
+    var high = vertexCount() - 1;
+
+    while (low < high) {
+      final var middle = (low + high + 1) >>> 1;
+      if (offsets[middle] <= edge)
+        low = middle;
+      else
+        high = middle - 1;
+    }
+    return low;
+  }
+
+  /**
+   * @return given edge as a {@link Digraph.Edge} (equal to the one of the digraph the graph has been built from)
+   */
+  public Digraph.Edge<VERTEX> toEdge(int edge) {
+    return new Digraph.Edge<>(vertexOf(source(edge)), vertexOf(targets[edge]), weights[edge]);
+  }
+
+  @Override
+  public String toString() {
+    return "CsrGraph(vertices = " + vertexCount() + ", edges = " + edgeCount() + ", offsets = " + Arrays.toString(offsets) + ")";
+  }
+
+}
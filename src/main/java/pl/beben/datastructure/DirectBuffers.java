@@ -0,0 +1,52 @@
+package pl.beben.datastructure;
+
+import lombok.NoArgsConstructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Releases direct (and memory-mapped) buffers right away - otherwise their memory is released (or the file unmapped) only once
+ * the garbage collector reclaims the tiny buffer object, which may be never. <br/>
+ * There is no public API for it on Java 17 (the Foreign Memory API comes with Java 22) - {@code sun.misc.Unsafe#invokeCleaner}
+ * (exported by the jdk.unsupported module) is the only way. It's looked up reflectively, and nothing else of Unsafe is used.
+ * @implNote a released buffer must not be accessed anymore (that would crash the JVM) - callers drop their reference before releasing it
+ */
+@NoArgsConstructor(access = PRIVATE)
+class DirectBuffers {
+
+  private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+  /**
+   * @param buffer buffer returned by {@link ByteBuffer#allocateDirect(int)} or {@link java.nio.channels.FileChannel#map}
+   *               (not a slice nor a duplicate of it)
+   */
+  static void release(ByteBuffer buffer) {
+    try {
+      INVOKE_CLEANER.invokeExact(buffer);
+    } catch (RuntimeException | Error exception) {
+      throw exception;
+    } catch (Throwable throwable) {
+      throw new IllegalStateException(throwable);
+    }
+  }
+
+  private static MethodHandle findInvokeCleaner() {
+    try {
+      final var unsafeClass = Class.forName("sun.misc.Unsafe");
+      final var theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafeField.setAccessible(true);
+
+      return MethodHandles.lookup()
+        .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+        .bindTo(theUnsafeField.get(null));
+
+    } catch (ReflectiveOperationException | RuntimeException exception) {
+      // rather than silently leaving the memory to the garbage collector
+      throw new IllegalStateException("Direct buffers can't be released - sun.misc.Unsafe#invokeCleaner is not available", exception);
+    }
+  }
+
+}
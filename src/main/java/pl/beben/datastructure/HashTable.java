@@ -6,18 +6,59 @@ import java.util.function.Consumer;
 public class HashTable<KEY, VALUE> {
 
   private static final int DEFAULT_INITIAL_CAPACITY = 8;
+  private static final float DEFAULT_LOAD_FACTOR = 1.0f;
+
+  // how many buckets of the previous table are moved to the current one with every operation (see ResizeMode.INCREMENTAL)
+  static final int BUCKETS_MIGRATED_PER_OPERATION = 4;
+
+  public enum ResizeMode {
+    /**
+     * All the entries are moved to the bigger table at once, making a single insert O(n) every now and then
+     */
+    ALL_AT_ONCE,
+    /**
+     * The bigger table is allocated, but the entries are moved to it a few buckets at a time with every following operation,
+     * so the cost of a resize is spread evenly among them. Until it's done lookups have to check both tables
+     */
+    INCREMENTAL
+  }
+
+  private final float loadFactor;
+  private final ResizeMode resizeMode;
 
   Node<KEY, VALUE>[] buckets;
 
+  // the table that is being migrated to `buckets` (ResizeMode.INCREMENTAL only), null if no migration is in progress
+  Node<KEY, VALUE>[] previousBuckets;
+  // every bucket of `previousBuckets` below this index has already been migrated
+  private int migratedBucketsCount;
+
+  private int size;
+
   public HashTable() {
     this(DEFAULT_INITIAL_CAPACITY);
   }
 
   public HashTable(int initialCapacity) {
+    this(initialCapacity, DEFAULT_LOAD_FACTOR, ResizeMode.ALL_AT_ONCE);
+  }
+
+  /**
+   * @param loadFactor how many entries per bucket (on average) are allowed before the table gets resized
+   */
+  public HashTable(int initialCapacity, float loadFactor, ResizeMode resizeMode) {
+    if (initialCapacity < 1)
+      throw new IllegalArgumentException("Initial capacity must be positive");
+    if (!(loadFactor > 0))
+      throw new IllegalArgumentException("Load factor must be positive");
+
+    this.loadFactor = loadFactor;
+    this.resizeMode = Objects.requireNonNull(resizeMode, "resizeMode");
     buckets = new Node[initialCapacity];
   }
 
   public void add(KEY key, VALUE value) {
+    migrateBucketsIfNecessary();
     rehashIfNecessary();
 
     final var bucketIndex = calculateBucketIndex(key);
@@ -27,35 +68,52 @@ public class HashTable<KEY, VALUE> {
       buckets[bucketIndex] = new Node<>(key, value);
     else
       presentBucket.add(key, value);
+
+    size++;
   }
 
   /**
    * @return whether the element has been successfully removed
    */
   public boolean remove(KEY key) {
-    final var bucketIndex = calculateBucketIndex(key);
-    final var bucket = buckets[bucketIndex];
+    migrateBucketsIfNecessary();
 
-    return bucket != null && bucket.remove(
-      replacement -> buckets[bucketIndex] = replacement,
-      key
-    );
+    final var removed =
+      remove(buckets, key) ||
+      (previousBuckets != null && remove(previousBuckets, key));
+
+    if (removed)
+      size--;
+
+    return removed;
   }
 
   public boolean containsKey(KEY key) {
-    final var bucketIndex = calculateBucketIndex(key);
-    final var bucket = buckets[bucketIndex];
+    migrateBucketsIfNecessary();
 
-    return bucket != null && bucket.contains(key);
+    return
+      contains(buckets, key) ||
+      (previousBuckets != null && contains(previousBuckets, key));
+  }
+
+  /**
+   * @return value assigned to given key, {@literal null} if the key is absent
+   */
+  public VALUE get(KEY key) {
+    return getOrDefault(key, null);
+  }
+
+  public VALUE getOrDefault(KEY key, VALUE defaultValue) {
+    migrateBucketsIfNecessary();
+
+    var node = find(buckets, key);
+    if (node == null && previousBuckets != null)
+      node = find(previousBuckets, key);
+
+    return node != null ? node.value : defaultValue;
   }
 
   public int size() {
-    var size = 0;
-    for (var i = 0; i < buckets.length; i++) {
-      if (buckets[i] != null) {
-        size += buckets[i].size();
-      }
-    }
     return size;
   }
 
@@ -64,20 +122,71 @@ public class HashTable<KEY, VALUE> {
   }
 
   int calculateBucketIndex(KEY key, int bucketsLength) {
-    return key.hashCode() % bucketsLength;
+    return Math.floorMod(key.hashCode(), bucketsLength);
+  }
+
+  private boolean remove(Node<KEY, VALUE>[] table, KEY key) {
+    final var bucketIndex = calculateBucketIndex(key, table.length);
+    final var bucket = table[bucketIndex];
+
+    return bucket != null && bucket.remove(
+      replacement -> table[bucketIndex] = replacement,
+      key
+    );
+  }
+
+  private boolean contains(Node<KEY, VALUE>[] table, KEY key) {
+    final var bucket = table[calculateBucketIndex(key, table.length)];
+    return bucket != null && bucket.contains(key);
+  }
+
+  private Node<KEY, VALUE> find(Node<KEY, VALUE>[] table, KEY key) {
+    final var bucket = table[calculateBucketIndex(key, table.length)];
+    return bucket != null ? bucket.find(key) : null;
   }
 
   private void rehashIfNecessary() {
-    if (size() <= buckets.length - 1)
+    if (size < buckets.length * loadFactor)
       return;
 
-    final var rehashedBuckets = new Node[buckets.length * 2];
-    for (Node<KEY, VALUE> bucket : buckets) {
-      final var rehashedIndex = calculateBucketIndex(bucket.key, rehashedBuckets.length);
-      rehashedBuckets[rehashedIndex] = bucket;
+    // the previous migration didn't make it in time - finish it before starting a new one
+    while (previousBuckets != null)
+      migrateBuckets(previousBuckets.length);
+
+    previousBuckets = buckets;
+    migratedBucketsCount = 0;
+    buckets = new Node[buckets.length * 2];
+
+    if (resizeMode == ResizeMode.ALL_AT_ONCE)
+      migrateBuckets(previousBuckets.length);
+  }
+
+  private void migrateBucketsIfNecessary() {
+    if (previousBuckets != null)
+      migrateBuckets(BUCKETS_MIGRATED_PER_OPERATION);
+  }
+
+  private void migrateBuckets(int bucketsToMigrate) {
+    final var lastBucketIndex = Math.min(previousBuckets.length, migratedBucketsCount + bucketsToMigrate);
+
+    for (; migratedBucketsCount < lastBucketIndex; migratedBucketsCount++) {
+      var node = previousBuckets[migratedBucketsCount];
+      previousBuckets[migratedBucketsCount] = null;
+
+      // every node of the chain has to be redistributed on its own, as they are not guaranteed to end up in the same bucket
+      while (node != null) {
+        final var next = node.next;
+        final var rehashedIndex = calculateBucketIndex(node.key, buckets.length);
+
+        node.next = buckets[rehashedIndex];
+        buckets[rehashedIndex] = node;
+
+        node = next;
+      }
     }
 
-    buckets = rehashedBuckets;
+    if (migratedBucketsCount == previousBuckets.length)
+      previousBuckets = null;
   }
 
   static class Node<NODE_KEY, NODE_VALUE> {
@@ -119,6 +228,13 @@ public class HashTable<KEY, VALUE> {
         );
     }
 
+    public Node<NODE_KEY, NODE_VALUE> find(NODE_KEY key) {
+      var node = this;
+      while (node != null && !Objects.equals(node.key, key))
+        node = node.next;
+      return node;
+    }
+
     public int size() {
       var size = 0;
       var node = this;
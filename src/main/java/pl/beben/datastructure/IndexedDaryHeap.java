@@ -0,0 +1,193 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Min heap, in which every node has up to d children (d = 2 is a binary heap), that knows the position of each of its elements. <br/>
+ * Thanks to that, once the priority of an element improves, {@link #decreaseKey(Object)} moves it towards the root in <i>O(log n)</i> -
+ * while with {@link java.util.PriorityQueue} it has to be removed (a linear search) and added again. <br/>
+ * The greater the d, the shallower the heap - so {@link #decreaseKey(Object)} and {@link #add(Object)} are cheaper, while
+ * {@link #poll()} (which compares all children of a node on every level) is more expensive. That's a good trade for pathfinding,
+ * where there are more priority updates than polls.
+ * <pre>
+ *   d = 3, elements: 1, 4, 2, 7, 5, 9, 6
+ *
+ *              1
+ *          /   |   \
+ *         4    2    7            [1, 4, 2, 7, 5, 9, 6]
+ *       / | \                    children of i are at d * i + 1 ... d * i + d
+ *      5  9  6
+ * </pre>
+ * @implNote elements must be unique (according to {@link Object#equals(Object)}), and an element's priority must not change
+ * while it's in the heap - unless it's followed by {@link #decreaseKey(Object)}
+ */
+public class IndexedDaryHeap<ELEMENT> {
+
+  private static final int DEFAULT_ARITY = 4;
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  private final int arity;
+  private final Comparator<? super ELEMENT> comparator;
+
+  // the heap itself - every entry knows its own index, so moving it around doesn't touch the map (no hashing nor boxing)
+  Entry<ELEMENT>[] entries;
+  // consulted once per operation, and modified only when an element is added or removed
+  private final Map<ELEMENT, Entry<ELEMENT>> elementToEntry = new HashMap<>();
+  private int size;
+
+  public IndexedDaryHeap(@NonNull Comparator<? super ELEMENT> comparator) {
+    this(DEFAULT_ARITY, comparator);
+  }
+
+  public IndexedDaryHeap(int arity, @NonNull Comparator<? super ELEMENT> comparator) {
+    if (arity < 2)
+      throw new IllegalArgumentException("Arity must be at least 2, got " + arity);
+
+    this.arity = arity;
+    this.comparator = comparator;
+    this.entries = new Entry[DEFAULT_INITIAL_CAPACITY];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(ELEMENT element) {
+    return elementToEntry.containsKey(element);
+  }
+
+  /**
+   * Costs <i>O(log n)</i>
+   * @throws java.lang.IllegalArgumentException if the element is already present
+   */
+  public void add(@NonNull ELEMENT element) {
+    final var entry = new Entry<>(element);
+    if (elementToEntry.putIfAbsent(element, entry) != null)
+      throw new IllegalArgumentException("Element " + element + " is already present");
+
+    if (size == entries.length)
+      entries = Arrays.copyOf(entries, size * 2);
+
+    siftUp(size++, entry);
+  }
+
+  /**
+   * @return the least element (according to the comparator) - the one of the highest priority, {@literal null} if the heap is empty
+   */
+  public ELEMENT peek() {
+    return size == 0 ? null : entries[0].element;
+  }
+
+  /**
+   * Removes the least element (according to the comparator) - the one of the highest priority. Costs <i>O(d log n)</i>
+   * @return the removed element, {@literal null} if the heap is empty
+   */
+  public ELEMENT poll() {
+    if (size == 0)
+      return null;
+
+    final var polledElement = entries[0].element;
+    removeAt(0);
+    return polledElement;
+  }
+
+  /**
+   * Costs <i>O(d log n)</i>
+   * @return whether the element has been present
+   */
+  public boolean remove(ELEMENT element) {
+    final var entry = elementToEntry.get(element);
+    if (entry == null)
+      return false;
+
+    removeAt(entry.index);
+    return true;
+  }
+
+  /**
+   * Restores the order of the heap after the priority of given element has improved (its key has decreased) - costs <i>O(log n)</i>
+   * @throws java.util.NoSuchElementException if there is no such element
+   */
+  public void decreaseKey(ELEMENT element) {
+    final var entry = elementToEntry.get(element);
+    if (entry == null)
+      throw new NoSuchElementException("There is no element " + element);
+
+    siftUp(entry.index, entry);
+  }
+
+  private void removeAt(int index) {
+    elementToEntry.remove(entries[index].element);
+
+    final var lastEntry = entries[--size];
+    entries[size] = null;
+
+    if (index == size)
+      return;
+
+    // the last entry may belong either below or above the removed one (if it comes from a different branch)
+    siftDown(index, lastEntry);
+    if (entries[index] == lastEntry)
+      siftUp(index, lastEntry);
+  }
+
+  private void siftUp(int index, Entry<ELEMENT> entry) {
+    while (index > 0) {
+      final var parentIndex = (index - 1) / arity;
+      final var parent = entries[parentIndex];
+
+      if (comparator.compare(parent.element, entry.element) <= 0)
+        break;
+
+      place(index, parent);
+      index = parentIndex;
+    }
+    place(index, entry);
+  }
+
+  private void siftDown(int index, Entry<ELEMENT> entry) {
+    while (true) {
+      final var firstChildIndex = index * arity + 1;
+      if (firstChildIndex >= size)
+        break;
+
+      var minChildIndex = firstChildIndex;
+      final var endChildIndex = Math.min(firstChildIndex + arity, size);
+      for (var childIndex = firstChildIndex + 1; childIndex < endChildIndex; childIndex++)
+        if (comparator.compare(entries[childIndex].element, entries[minChildIndex].element) < 0)
+          minChildIndex = childIndex;
+
+      final var minChild = entries[minChildIndex];
+      if (comparator.compare(entry.element, minChild.element) <= 0)
+        break;
+
+      place(index, minChild);
+      index = minChildIndex;
+    }
+    place(index, entry);
+  }
+
+  private void place(int index, Entry<ELEMENT> entry) {
+    entries[index] = entry;
+    entry.index = index;
+  }
+
+  static class Entry<ENTRY_ELEMENT> {
+    final ENTRY_ELEMENT element;
+    int index;
+
+    Entry(ENTRY_ELEMENT element) {
+      this.element = element;
+    }
+  }
+
+}
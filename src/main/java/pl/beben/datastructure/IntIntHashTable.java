@@ -0,0 +1,143 @@
+package pl.beben.datastructure;
+
+import java.util.NoSuchElementException;
+
+/**
+ * {@link pl.beben.datastructure.HashTable} specialized for {@code int} keys and values - both are kept in {@code int[]} arrays,
+ * so neither {@link #add(int, int)} nor {@link #containsKey(int)} box them or call {@link Object#hashCode()}. <br/>
+ * Collisions are resolved with linear probing, removal is done with backward shift deletion
+ * (see {@link pl.beben.datastructure.OpenAddressingHashTable} for the Robin Hood flavour of it).
+ * @implNote adding a key that is already present overrides its value
+ */
+public class IntIntHashTable {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 8;
+  private static final float MAX_LOAD_FACTOR = 0.75f;
+
+  int[] keys;
+  int[] values;
+  boolean[] occupied;
+
+  private int size;
+
+  public IntIntHashTable() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public IntIntHashTable(int initialCapacity) {
+    allocate(PrimitiveHashing.tableCapacityFor(initialCapacity));
+  }
+
+  public void add(int key, int value) {
+    var index = findSlotIndex(key);
+
+    if (occupied[index]) {
+      values[index] = value;
+      return;
+    }
+
+    if (size + 1 > keys.length * MAX_LOAD_FACTOR) {
+      resize(keys.length * 2);
+      index = findSlotIndex(key);
+    }
+
+    keys[index] = key;
+    values[index] = value;
+    occupied[index] = true;
+    size++;
+  }
+
+  /**
+   * @throws java.util.NoSuchElementException if the key is absent
+   */
+  public int get(int key) {
+    final var index = findSlotIndex(key);
+    if (!occupied[index])
+      throw new NoSuchElementException("Key " + key + " is absent");
+    return values[index];
+  }
+
+  public int getOrDefault(int key, int defaultValue) {
+    final var index = findSlotIndex(key);
+    return occupied[index] ? values[index] : defaultValue;
+  }
+
+  /**
+   * @return whether the element has been successfully removed
+   */
+  public boolean remove(int key) {
+    var index = findSlotIndex(key);
+    if (!occupied[index])
+      return false;
+
+    // Backward shift deletion - an entry following the removed one is moved into the gap,
+    // unless its home slot lies after the gap (moving it would make it unreachable from its home slot)
+    var nextIndex = nextIndex(index);
+    while (occupied[nextIndex]) {
+      final var homeIndex = calculateHomeIndex(keys[nextIndex]);
+
+      if (PrimitiveHashing.canBeShiftedBack(homeIndex, index, nextIndex)) {
+        keys[index] = keys[nextIndex];
+        values[index] = values[nextIndex];
+        index = nextIndex;
+      }
+
+      nextIndex = nextIndex(nextIndex);
+    }
+
+    occupied[index] = false;
+    size--;
+    return true;
+  }
+
+  public boolean containsKey(int key) {
+    return occupied[findSlotIndex(key)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  int calculateHomeIndex(int key) {
+    return PrimitiveHashing.calculateHomeIndex(key, keys.length);
+  }
+
+  /**
+   * @return index of the slot holding given key or the empty slot that the key would be put in
+   */
+  private int findSlotIndex(int key) {
+    var index = calculateHomeIndex(key);
+    while (occupied[index] && keys[index] != key)
+      index = nextIndex(index);
+    return index;
+  }
+
+  private void resize(int capacity) {
+    final var oldKeys = keys;
+    final var oldValues = values;
+    final var oldOccupied = occupied;
+
+    allocate(capacity);
+
+    for (var i = 0; i < oldKeys.length; i++) {
+      if (!oldOccupied[i])
+        continue;
+
+      final var index = findSlotIndex(oldKeys[i]);
+      keys[index] = oldKeys[i];
+      values[index] = oldValues[i];
+      occupied[index] = true;
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    occupied = new boolean[capacity];
+  }
+
+  private int nextIndex(int index) {
+    return PrimitiveHashing.nextIndex(index, keys.length);
+  }
+
+}
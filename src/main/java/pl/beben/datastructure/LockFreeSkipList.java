@@ -0,0 +1,249 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import pl.beben.utils.ComparableUtils;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Thread safe ordered set - a lock-free skip list (based on the one from "The Art of Multiprocessor Programming" by Herlihy & Shavit). <br/>
+ * A skip list is a sorted linked list with "express lanes" - every node is linked on level 0, roughly every second one on level 1,
+ * every fourth one on level 2 and so on, so a search can skip over most of the nodes, just like in a balanced tree:
+ * <pre>
+ *   level 2:  HEAD ---------------------------→ 40
+ *   level 1:  HEAD ----------→ 20 ------------→ 40 ----------→ 60
+ *   level 0:  HEAD → 10 ----→ 20 → 30 -------→ 40 → 50 ----→ 60
+ * </pre>
+ * Unlike a tree, it never has to be rebalanced - every change is local, which is what makes it possible to do it with CAS alone.
+ * <ul>
+ *   <li>add - links the node on level 0 first (that's the moment it becomes a member of the set), then on the levels above</li>
+ *   <li>remove - marks the node's references (top-down, level 0 last - that's the moment it stops being a member),
+ *       the physical unlinking is done by whichever thread comes across a marked node next</li>
+ *   <li>contains - never modifies anything, so it never retries - it's wait-free</li>
+ * </ul>
+ * Traversals ({@link #forEach(Consumer)}, {@link #rangeForEach(Comparable, Comparable, Consumer)}) are weakly consistent -
+ * they never throw and visit values in order, but may or may not reflect changes made during the traversal.
+ * @implNote equality is checked using {@link Comparable#compareTo(Object)} method
+ */
+public class LockFreeSkipList<VALUE extends Comparable> {
+
+  // with a 1/2 chance of promotion, 24 levels are plenty for 2^24 values (and keep being fine way beyond that)
+  static final int MAX_LEVEL = 24;
+
+  // its value is never read - the head is lesser than anything
+  final Node<VALUE> head = new Node<>(null, MAX_LEVEL - 1);
+
+  private final LongAdder size = new LongAdder();
+
+  /**
+   * @return whether the value has been added (false if it was already present)
+   */
+  public boolean add(@NonNull VALUE value) {
+    final var topLevel = randomLevel();
+    final Node<VALUE>[] predecessors = new Node[MAX_LEVEL];
+    final Node<VALUE>[] successors = new Node[MAX_LEVEL];
+
+    while (true) {
+      if (find(value, predecessors, successors))
+        return false;
+
+      final var node = new Node<>(value, topLevel);
+      for (var level = 0; level <= topLevel; level++)
+        node.next[level].set(successors[level], false);
+
+      // linking on level 0 makes the value a member of the set, if it fails - someone has changed the neighbourhood, start over
+      if (!predecessors[0].next[0].compareAndSet(successors[0], node, false, false))
+        continue;
+
+      size.increment();
+
+      // the express lanes are only an optimization, so they can be linked afterwards
+      for (var level = 1; level <= topLevel; level++) {
+        while (true) {
+          final var successor = successors[level];
+          final var currentNext = node.next[level].getReference();
+
+          // the node's own reference has been marked - it's already being removed, there's no point in linking it any further
+          if (currentNext != successor && !node.next[level].compareAndSet(currentNext, successor, false, false))
+            return true;
+
+          if (predecessors[level].next[level].compareAndSet(successor, node, false, false))
+            break;
+
+          find(value, predecessors, successors);
+        }
+      }
+
+      return true;
+    }
+  }
+
+  /**
+   * @return whether the value has been removed (false if it was absent, or another thread has removed it first)
+   */
+  public boolean remove(VALUE value) {
+    if (value == null)
+      return false;
+
+    final Node<VALUE>[] predecessors = new Node[MAX_LEVEL];
+    final Node<VALUE>[] successors = new Node[MAX_LEVEL];
+    final var isMarked = new boolean[1];
+
+    if (!find(value, predecessors, successors))
+      return false;
+
+    final var victim = successors[0];
+
+    // mark the upper levels first, so that no one links anything after the victim anymore
+    for (var level = victim.topLevel; level >= 1; level--) {
+      var successor = victim.next[level].get(isMarked);
+      while (!isMarked[0]) {
+        victim.next[level].compareAndSet(successor, successor, false, true);
+        successor = victim.next[level].get(isMarked);
+      }
+    }
+
+    // marking level 0 is the moment of removal - only one of the racing threads succeeds
+    var successor = victim.next[0].get(isMarked);
+    while (true) {
+      final var isMarkedByThisThread = victim.next[0].compareAndSet(successor, successor, false, true);
+      successor = victim.next[0].get(isMarked);
+
+      if (isMarkedByThisThread) {
+        size.decrement();
+        // unlinks the victim physically
+        find(value, predecessors, successors);
+        return true;
+      } else if (isMarked[0]) {
+        return false;
+      }
+    }
+  }
+
+  public boolean contains(VALUE value) {
+    if (value == null)
+      return false;
+
+    final var node = findFirstNotLesserThan(value);
+    return node != null && ComparableUtils.isEqualTo(node.value, value);
+  }
+
+  /**
+   * @return number of values, might be already outdated if other threads are modifying the set at the same time
+   */
+  public int size() {
+    return size.intValue();
+  }
+
+  public void forEach(Consumer<VALUE> consumer) {
+    forEachFrom(head.next[0].getReference(), null, consumer);
+  }
+
+  /**
+   * Calls the consumer for every value within [from, to] range, in order
+   */
+  public void rangeForEach(@NonNull VALUE from, @NonNull VALUE to, Consumer<VALUE> consumer) {
+    forEachFrom(findFirstNotLesserThan(from), to, consumer);
+  }
+
+  private void forEachFrom(Node<VALUE> node, VALUE to, Consumer<VALUE> consumer) {
+    for (; node != null; node = node.next[0].getReference()) {
+      if (to != null && ComparableUtils.isGreaterThan(node.value, to))
+        return;
+
+      if (!node.next[0].isMarked())
+        consumer.accept(node.value);
+    }
+  }
+
+  /**
+   * Fills {@code predecessors} and {@code successors} with the nodes between which the value is (or would be) on each level,
+   * unlinking every marked node it comes across along the way
+   * @return whether the value is present
+   */
+  private boolean find(VALUE value, Node<VALUE>[] predecessors, Node<VALUE>[] successors) {
+    final var isMarked = new boolean[1];
+
+    retry:
+    while (true) {
+      var predecessor = head;
+
+      for (var level = MAX_LEVEL - 1; level >= 0; level--) {
+        var current = predecessor.next[level].getReference();
+
+        while (current != null) {
+          final var successor = current.next[level].get(isMarked);
+
+          if (isMarked[0]) {
+            // the current node is being removed - help by unlinking it, and if the predecessor has changed in the meantime, start over
+            if (!predecessor.next[level].compareAndSet(current, successor, false, false))
+              continue retry;
+            current = successor;
+          } else if (ComparableUtils.isLesserThan(current.value, value)) {
+            predecessor = current;
+            current = successor;
+          } else {
+            break;
+          }
+        }
+
+        predecessors[level] = predecessor;
+        successors[level] = current;
+      }
+
+      return successors[0] != null && ComparableUtils.isEqualTo(successors[0].value, value);
+    }
+  }
+
+  /**
+   * Same descent as {@link #find(Comparable, Node[], Node[])}, but it skips the marked nodes instead of unlinking them
+   * @return first unmarked node on level 0 whose value is not lesser than given one, {@literal null} if there is no such node
+   */
+  private Node<VALUE> findFirstNotLesserThan(VALUE value) {
+    final var isMarked = new boolean[1];
+    var predecessor = head;
+    Node<VALUE> current = null;
+
+    for (var level = MAX_LEVEL - 1; level >= 0; level--) {
+      current = predecessor.next[level].getReference();
+
+      while (current != null) {
+        final var successor = current.next[level].get(isMarked);
+
+        if (isMarked[0]) {
+          current = successor;
+        } else if (ComparableUtils.isLesserThan(current.value, value)) {
+          predecessor = current;
+          current = successor;
+        } else {
+          break;
+        }
+      }
+    }
+    return current;
+  }
+
+  // geometric distribution - level n has 1/2^(n+1) chance
+  private static int randomLevel() {
+    final var random = ThreadLocalRandom.current().nextInt();
+    return Integer.numberOfTrailingZeros(random | (1 << (MAX_LEVEL - 1)));
+  }
+
+  static class Node<NODE_VALUE> {
+    final NODE_VALUE value;
+    final int topLevel;
+    // reference to the next node on each level, marked once the node is being removed
+    final AtomicMarkableReference<Node<NODE_VALUE>>[] next;
+
+    Node(NODE_VALUE value, int topLevel) {
+      this.value = value;
+      this.topLevel = topLevel;
+      this.next = new AtomicMarkableReference[topLevel + 1];
+      for (var level = 0; level <= topLevel; level++)
+        next[level] = new AtomicMarkableReference<>(null, false);
+    }
+  }
+
+}
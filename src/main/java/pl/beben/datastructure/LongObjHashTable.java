@@ -0,0 +1,139 @@
+package pl.beben.datastructure;
+
+/**
+ * {@link pl.beben.datastructure.HashTable} specialized for {@code long} keys - keys are kept in an {@code long[]},
+ * so neither {@link #add(long, Object)} nor {@link #containsKey(long)} box them or call {@link Object#hashCode()}. <br/>
+ * Collisions are resolved with linear probing, removal is done with backward shift deletion
+ * (see {@link pl.beben.datastructure.OpenAddressingHashTable} for the Robin Hood flavour of it).
+ * @implNote adding a key that is already present overrides its value
+ */
+public class LongObjHashTable<VALUE> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 8;
+  private static final float MAX_LOAD_FACTOR = 0.75f;
+
+  long[] keys;
+  Object[] values;
+  boolean[] occupied;
+
+  private int size;
+
+  public LongObjHashTable() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public LongObjHashTable(int initialCapacity) {
+    allocate(PrimitiveHashing.tableCapacityFor(initialCapacity));
+  }
+
+  public void add(long key, VALUE value) {
+    var index = findSlotIndex(key);
+
+    if (occupied[index]) {
+      values[index] = value;
+      return;
+    }
+
+    if (size + 1 > keys.length * MAX_LOAD_FACTOR) {
+      resize(keys.length * 2);
+      index = findSlotIndex(key);
+    }
+
+    keys[index] = key;
+    values[index] = value;
+    occupied[index] = true;
+    size++;
+  }
+
+  /**
+   * @return value assigned to given key, {@literal null} if the key is absent
+   */
+  public VALUE get(long key) {
+    return getOrDefault(key, null);
+  }
+
+  public VALUE getOrDefault(long key, VALUE defaultValue) {
+    final var index = findSlotIndex(key);
+    return occupied[index] ? (VALUE) values[index] : defaultValue;
+  }
+
+  /**
+   * @return whether the element has been successfully removed
+   */
+  public boolean remove(long key) {
+    var index = findSlotIndex(key);
+    if (!occupied[index])
+      return false;
+
+    // Backward shift deletion - an entry following the removed one is moved into the gap,
+    // unless its home slot lies after the gap (moving it would make it unreachable from its home slot)
+    var nextIndex = nextIndex(index);
+    while (occupied[nextIndex]) {
+      final var homeIndex = calculateHomeIndex(keys[nextIndex]);
+
+      if (PrimitiveHashing.canBeShiftedBack(homeIndex, index, nextIndex)) {
+        keys[index] = keys[nextIndex];
+        values[index] = values[nextIndex];
+        index = nextIndex;
+      }
+
+      nextIndex = nextIndex(nextIndex);
+    }
+
+    values[index] = null;
+    occupied[index] = false;
+    size--;
+    return true;
+  }
+
+  public boolean containsKey(long key) {
+    return occupied[findSlotIndex(key)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  int calculateHomeIndex(long key) {
+    return PrimitiveHashing.calculateHomeIndex(key, keys.length);
+  }
+
+  /**
+   * @return index of the slot holding given key or the empty slot that the key would be put in
+   */
+  private int findSlotIndex(long key) {
+    var index = calculateHomeIndex(key);
+    while (occupied[index] && keys[index] != key)
+      index = nextIndex(index);
+    return index;
+  }
+
+  private void resize(int capacity) {
+    final var oldKeys = keys;
+    final var oldValues = values;
+    final var oldOccupied = occupied;
+
+    allocate(capacity);
+
+    for (var i = 0; i < oldKeys.length; i++) {
+      if (!oldOccupied[i])
+        continue;
+
+      final var index = findSlotIndex(oldKeys[i]);
+      keys[index] = oldKeys[i];
+      values[index] = oldValues[i];
+      occupied[index] = true;
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    occupied = new boolean[capacity];
+  }
+
+  private int nextIndex(int index) {
+    return PrimitiveHashing.nextIndex(index, keys.length);
+  }
+
+}
@@ -0,0 +1,256 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read-only {@link pl.beben.datastructure.Utf8Trie}, memory-mapped from a file written by {@link Utf8Trie#writeTo(Path)}. <br/>
+ * Nothing is built on the heap when the file is opened - lookups read the mapped file directly, and the operating system
+ * loads its pages on demand (sharing them among every process that maps it), so opening even a huge dictionary is instant.
+ * <pre>
+ * File layout (little endian):
+ *   [magic (4 bytes)][format version (4 bytes)][word count (4 bytes)][size of the nodes (4 bytes)]
+ *   [nodes, in level order, the root first]
+ *
+ * Node layout (3 + 5 * child count bytes):
+ *   [end of word (1 byte)][child count (2 bytes)][labels (1 byte each, sorted)][offsets of the children (4 bytes each)]
+ * </pre>
+ * Offsets are relative to the beginning of the nodes, so the root is at 0.
+ * @implNote a single mapped buffer is limited to 2GB
+ */
+public class MappedUtf8Trie implements AutoCloseable {
+
+  // "U8TR" - but written in little endian, so the file starts with "RT8U"
+  static final int FILE_MAGIC = 0x55385452;
+  static final int FILE_FORMAT_VERSION = 1;
+  static final int FILE_HEADER_SIZE = 4 * Integer.BYTES;
+
+  // fixed (instead of native) order, so a file can be written on one machine and opened on another
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  private static final int END_OF_WORD_OFFSET = 0;
+  private static final int CHILD_COUNT_OFFSET = 1;
+  private static final int LABELS_OFFSET = 3;
+
+  private static final int ROOT = 0;
+  private static final int NOT_FOUND = -1;
+
+  // UTF-8 encoding of a lone surrogate is undefined - String#getBytes (used when the words are added) replaces it with '?'
+  private static final int REPLACEMENT_CODE_POINT = '?';
+
+  private ByteBuffer nodes;
+  private final int wordCount;
+
+  private MappedUtf8Trie(ByteBuffer nodes, int wordCount) {
+    this.nodes = nodes;
+    this.wordCount = wordCount;
+  }
+
+  /**
+   * @return read-only trie, see {@link #close()}
+   * @throws java.lang.IllegalArgumentException if the file is not a trie
+   */
+  public static MappedUtf8Trie open(Path file) throws IOException {
+    try (final var channel = FileChannel.open(file, READ)) {
+
+      final var header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER);
+      while (header.hasRemaining() && channel.read(header) >= 0);
+      header.flip();
+
+      if (header.remaining() != FILE_HEADER_SIZE || header.getInt() != FILE_MAGIC || header.getInt() != FILE_FORMAT_VERSION)
+        throw new IllegalArgumentException("File " + file + " is not a trie");
+
+      final var wordCount = header.getInt();
+      final var nodesSize = header.getInt();
+
+      if (nodesSize < nodeSize(0) || channel.size() != FILE_HEADER_SIZE + (long) nodesSize)
+        throw new IllegalArgumentException("File " + file + " is corrupted");
+
+      // the mapping stays valid after the channel is closed
+      final var nodes = channel.map(FileChannel.MapMode.READ_ONLY, FILE_HEADER_SIZE, nodesSize).order(BYTE_ORDER);
+      return new MappedUtf8Trie(nodes, wordCount);
+    }
+  }
+
+  public boolean containsWord(@NonNull String word) {
+    assertIsOpen();
+    final var node = findNode(word);
+    return node != NOT_FOUND && isEndOfWord(node);
+  }
+
+  public boolean contains(@NonNull String string) {
+    assertIsOpen();
+    return findNode(string) != NOT_FOUND;
+  }
+
+  /**
+   * @return every word starting with given prefix (including the prefix itself, if it is a word), empty set if there is none
+   */
+  public Set<String> searchWordsStartingWith(@NonNull String prefix) {
+    assertIsOpen();
+    final var words = new HashSet<String>();
+
+    final var prefixNode = findNode(prefix);
+    if (prefixNode == NOT_FOUND)
+      return words;
+
+    // depth first, with a single buffer of the bytes on the path - decoded only when a word is found
+    final var prefixBytes = prefix.getBytes(UTF_8);
+    var path = Arrays.copyOf(prefixBytes, Math.max(16, prefixBytes.length * 2));
+    var nodeStack = new int[16];
+    var depthStack = new int[16];
+    var labelStack = new byte[16];
+    var stackSize = 0;
+
+    nodeStack[stackSize] = prefixNode;
+    depthStack[stackSize] = prefixBytes.length;
+    stackSize++;
+
+    while (stackSize > 0) {
+      stackSize--;
+      final var node = nodeStack[stackSize];
+      final var depth = depthStack[stackSize];
+
+      // the path up to the parent is already in the buffer (whatever follows it belongs to an already visited subtree)
+      if (node != prefixNode)
+        path[depth - 1] = labelStack[stackSize];
+
+      if (isEndOfWord(node))
+        words.add(new String(path, 0, depth, UTF_8));
+
+      final var childCount = childCount(node);
+      if (childCount == 0)
+        continue;
+
+      if (stackSize + childCount > nodeStack.length) {
+        nodeStack = Arrays.copyOf(nodeStack, Math.max(nodeStack.length * 2, stackSize + childCount));
+        depthStack = Arrays.copyOf(depthStack, nodeStack.length);
+        labelStack = Arrays.copyOf(labelStack, nodeStack.length);
+      }
+      if (depth == path.length)
+        path = Arrays.copyOf(path, path.length * 2);
+
+      for (var i = 0; i < childCount; i++) {
+        nodeStack[stackSize] = childOffset(node, childCount, i);
+        depthStack[stackSize] = depth + 1;
+        labelStack[stackSize] = label(node, i);
+        stackSize++;
+      }
+    }
+
+    return words;
+  }
+
+  public int wordCount() {
+    assertIsOpen();
+    return wordCount;
+  }
+
+  /**
+   * Unmaps the file right away (see {@link pl.beben.datastructure.DirectBuffers}) - so it can be overwritten or deleted even
+   * on systems that lock mapped files (Windows). <br/>
+   * The trie must not be used afterwards.
+   */
+  @Override
+  public void close() {
+    if (nodes == null)
+      return;
+
+    final var releasedNodes = nodes;
+    nodes = null;
+    DirectBuffers.release(releasedNodes);
+  }
+
+  static int nodeSize(int childCount) {
+    return LABELS_OFFSET + childCount * (1 + Integer.BYTES);
+  }
+
+  /**
+   * Encodes the string on the fly, code point by code point, rather than allocating the whole UTF-8 array
+   */
+  private int findNode(String string) {
+    var node = ROOT;
+
+    for (var i = 0; node != NOT_FOUND && i < string.length(); ) {
+      var codePoint = string.codePointAt(i);
+      i += Character.charCount(codePoint);
+
+      if (Character.getType(codePoint) == Character.SURROGATE)
+        codePoint = REPLACEMENT_CODE_POINT;
+
+      if (codePoint < 0x80) {
+        node = findChild(node, codePoint);
+      } else if (codePoint < 0x800) {
+        node = findChild(node, 0xC0 | (codePoint >> 6));
+        node = findChild(node, 0x80 | (codePoint & 0x3F));
+      } else if (codePoint < 0x10000) {
+        node = findChild(node, 0xE0 | (codePoint >> 12));
+        node = findChild(node, 0x80 | ((codePoint >> 6) & 0x3F));
+        node = findChild(node, 0x80 | (codePoint & 0x3F));
+      } else {
+        node = findChild(node, 0xF0 | (codePoint >> 18));
+        node = findChild(node, 0x80 | ((codePoint >> 12) & 0x3F));
+        node = findChild(node, 0x80 | ((codePoint >> 6) & 0x3F));
+        node = findChild(node, 0x80 | (codePoint & 0x3F));
+      }
+    }
+    return node;
+  }
+
+  /**
+   * @param label unsigned byte
+   * @return offset of the child, {@link #NOT_FOUND} if there is none (or the node itself is {@link #NOT_FOUND})
+   */
+  private int findChild(int node, int label) {
+    if (node == NOT_FOUND)
+      return NOT_FOUND;
+
+    final var childCount = childCount(node);
+    var low = 0;
+    var high = childCount - 1;
+
+    while (low <= high) {
+      final var middle = (low + high) >>> 1;
+      final var middleLabel = Byte.toUnsignedInt(label(node, middle));
+
+      if (middleLabel < label)
+        low = middle + 1;
+      else if (middleLabel > label)
+        high = middle - 1;
+      else
+        return childOffset(node, childCount, middle);
+    }
+    return NOT_FOUND;
+  }
+
+  private boolean isEndOfWord(int node) {
+    return nodes.get(node + END_OF_WORD_OFFSET) != 0;
+  }
+
+  private int childCount(int node) {
+    return Short.toUnsignedInt(nodes.getShort(node + CHILD_COUNT_OFFSET));
+  }
+
+  private byte label(int node, int index) {
+    return nodes.get(node + LABELS_OFFSET + index);
+  }
+
+  private int childOffset(int node, int childCount, int index) {
+    return nodes.getInt(node + LABELS_OFFSET + childCount + index * Integer.BYTES);
+  }
+
+  private void assertIsOpen() {
+    if (nodes == null)
+      throw new IllegalStateException("Trie has already been closed");
+  }
+
+}
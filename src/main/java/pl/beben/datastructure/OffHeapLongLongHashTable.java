@@ -0,0 +1,278 @@
+package pl.beben.datastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * {@code long -> long} hash table whose entries live outside the Java heap, in a direct {@link java.nio.ByteBuffer}. <br/>
+ * The garbage collector sees a single small object no matter how many entries there are, so even a table of tens of millions
+ * of entries costs it nothing - and the off-heap memory is released right away by {@link #close()}, rather than whenever the
+ * collector gets to that object. <br/>
+ * Same algorithm as {@link pl.beben.datastructure.IntIntHashTable} - linear probing with backward shift deletion.
+ * <pre>
+ * Slot layout (17 bytes, little endian):
+ *   [occupied (1 byte)][key (8 bytes)][value (8 bytes)]
+ * </pre>
+ * The table can be saved to a file ({@link #writeTo(Path)}) and memory-mapped back ({@link #open(Path)}) - the file contains
+ * a short header followed by the very same slots, so a reopened table is usable right away, without rebuilding anything.
+ * @implNote not thread safe; a single direct buffer is limited to 2GB, hence the table can hold up to 2^26 slots
+ */
+public class OffHeapLongLongHashTable implements AutoCloseable {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 8;
+  private static final float MAX_LOAD_FACTOR = 0.75f;
+
+  private static final int OCCUPIED_OFFSET = 0;
+  private static final int KEY_OFFSET = 1;
+  private static final int VALUE_OFFSET = KEY_OFFSET + Long.BYTES;
+  static final int SLOT_SIZE = VALUE_OFFSET + Long.BYTES;
+
+  private static final byte EMPTY = 0;
+  private static final byte OCCUPIED = 1;
+
+  // [magic (4 bytes)][format version (4 bytes)][capacity (4 bytes)][size (4 bytes)]
+  // "OHLL" - but written in little endian, so the file starts with "LLHO"
+  private static final int FILE_MAGIC = 0x4F484C4C;
+  private static final int FILE_FORMAT_VERSION = 1;
+  static final int FILE_HEADER_SIZE = 4 * Integer.BYTES;
+
+  // fixed (instead of native) order, so a file can be written on one machine and opened on another
+  private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  ByteBuffer slots;
+  int capacity;
+  private int size;
+  private final boolean isReadOnly;
+
+  public OffHeapLongLongHashTable() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public OffHeapLongLongHashTable(int initialCapacity) {
+    allocate(PrimitiveHashing.tableCapacityFor(initialCapacity));
+    isReadOnly = false;
+  }
+
+  private OffHeapLongLongHashTable(ByteBuffer mappedSlots, int capacity, int size) {
+    this.slots = mappedSlots;
+    this.capacity = capacity;
+    this.size = size;
+    this.isReadOnly = true;
+  }
+
+  /**
+   * Memory-maps a file written by {@link #writeTo(Path)}. Nothing is copied to the heap (nor anywhere else) - lookups read
+   * the mapped file directly and the operating system loads its pages on demand, sharing them among every process that maps it.
+   * @return read-only table, see {@link #close()}
+   * @throws java.lang.IllegalArgumentException if the file is not a hash table snapshot
+   */
+  public static OffHeapLongLongHashTable open(Path file) throws IOException {
+    try (final var channel = FileChannel.open(file, READ)) {
+
+      final var header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER);
+      while (header.hasRemaining() && channel.read(header) >= 0);
+      header.flip();
+
+      if (header.remaining() != FILE_HEADER_SIZE || header.getInt() != FILE_MAGIC || header.getInt() != FILE_FORMAT_VERSION)
+        throw new IllegalArgumentException("File " + file + " is not a hash table snapshot");
+
+      final var capacity = header.getInt();
+      final var size = header.getInt();
+
+      // a table without a single empty slot would make every lookup of an absent key loop forever
+      if (Integer.bitCount(capacity) != 1 || size < 0 || size >= capacity || channel.size() != FILE_HEADER_SIZE + (long) capacity * SLOT_SIZE)
+        throw new IllegalArgumentException("File " + file + " is corrupted");
+
+      // the mapping stays valid after the channel is closed
+      final var slots = channel.map(FileChannel.MapMode.READ_ONLY, FILE_HEADER_SIZE, (long) capacity * SLOT_SIZE).order(BYTE_ORDER);
+      return new OffHeapLongLongHashTable(slots, capacity, size);
+    }
+  }
+
+  /**
+   * Saves the table to given file (overwriting it), so that it can be reopened with {@link #open(Path)}
+   */
+  public void writeTo(Path file) throws IOException {
+    assertIsOpen();
+
+    final var header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER)
+      .putInt(FILE_MAGIC)
+      .putInt(FILE_FORMAT_VERSION)
+      .putInt(capacity)
+      .putInt(size)
+      .flip();
+
+    try (final var channel = FileChannel.open(file, WRITE, CREATE, TRUNCATE_EXISTING)) {
+      // the slots are written as they are, the layout in memory and in the file is the same
+      final var slotsToWrite = slots.duplicate().clear();
+      while (header.hasRemaining() || slotsToWrite.hasRemaining())
+        channel.write(new ByteBuffer[] { header, slotsToWrite });
+    }
+  }
+
+  public void add(long key, long value) {
+    assertIsWritable();
+    var index = findSlotIndex(key);
+
+    if (isOccupied(index)) {
+      slots.putLong(offset(index) + VALUE_OFFSET, value);
+      return;
+    }
+
+    if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+      resize(capacity * 2);
+      index = findSlotIndex(key);
+    }
+
+    write(index, key, value);
+    size++;
+  }
+
+  /**
+   * @throws java.util.NoSuchElementException if the key is absent
+   */
+  public long get(long key) {
+    assertIsOpen();
+    final var index = findSlotIndex(key);
+    if (!isOccupied(index))
+      throw new NoSuchElementException("Key " + key + " is absent");
+    return slots.getLong(offset(index) + VALUE_OFFSET);
+  }
+
+  public long getOrDefault(long key, long defaultValue) {
+    assertIsOpen();
+    final var index = findSlotIndex(key);
+    return isOccupied(index) ? slots.getLong(offset(index) + VALUE_OFFSET) : defaultValue;
+  }
+
+  /**
+   * @return whether the element has been successfully removed
+   */
+  public boolean remove(long key) {
+    assertIsWritable();
+    var index = findSlotIndex(key);
+    if (!isOccupied(index))
+      return false;
+
+    var nextIndex = nextIndex(index);
+    while (isOccupied(nextIndex)) {
+      final var nextKey = keyAt(nextIndex);
+
+      if (PrimitiveHashing.canBeShiftedBack(calculateHomeIndex(nextKey), index, nextIndex)) {
+        write(index, nextKey, slots.getLong(offset(nextIndex) + VALUE_OFFSET));
+        index = nextIndex;
+      }
+
+      nextIndex = nextIndex(nextIndex);
+    }
+
+    slots.put(offset(index) + OCCUPIED_OFFSET, EMPTY);
+    size--;
+    return true;
+  }
+
+  public boolean containsKey(long key) {
+    assertIsOpen();
+    return isOccupied(findSlotIndex(key));
+  }
+
+  public int size() {
+    assertIsOpen();
+    return size;
+  }
+
+  /**
+   * Releases the off-heap memory (or unmaps the file) right away, see {@link pl.beben.datastructure.DirectBuffers}. <br/>
+   * The table must not be used afterwards.
+   */
+  @Override
+  public void close() {
+    if (slots == null)
+      return;
+
+    final var releasedSlots = slots;
+    slots = null;
+    DirectBuffers.release(releasedSlots);
+  }
+
+  int calculateHomeIndex(long key) {
+    return PrimitiveHashing.calculateHomeIndex(key, capacity);
+  }
+
+  private int findSlotIndex(long key) {
+    var index = calculateHomeIndex(key);
+    while (isOccupied(index) && keyAt(index) != key)
+      index = nextIndex(index);
+    return index;
+  }
+
+  private void resize(int newCapacity) {
+    final var oldSlots = slots;
+    final var oldCapacity = capacity;
+
+    allocate(newCapacity);
+
+    for (var i = 0; i < oldCapacity; i++) {
+      final var oldOffset = i * SLOT_SIZE;
+      if (oldSlots.get(oldOffset + OCCUPIED_OFFSET) != OCCUPIED)
+        continue;
+
+      final var key = oldSlots.getLong(oldOffset + KEY_OFFSET);
+      write(findSlotIndex(key), key, oldSlots.getLong(oldOffset + VALUE_OFFSET));
+    }
+
+    DirectBuffers.release(oldSlots);
+  }
+
+  private void allocate(int newCapacity) {
+    if ((long) newCapacity * SLOT_SIZE > Integer.MAX_VALUE)
+      throw new IllegalStateException("Capacity of " + newCapacity + " slots exceeds the maximum size of a direct buffer");
+
+    // allocateDirect zeroes the memory, so every slot starts as EMPTY
+    slots = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE).order(BYTE_ORDER);
+    capacity = newCapacity;
+  }
+
+  private void write(int index, long key, long value) {
+    final var offset = offset(index);
+    slots.put(offset + OCCUPIED_OFFSET, OCCUPIED);
+    slots.putLong(offset + KEY_OFFSET, key);
+    slots.putLong(offset + VALUE_OFFSET, value);
+  }
+
+  private boolean isOccupied(int index) {
+    return slots.get(offset(index) + OCCUPIED_OFFSET) == OCCUPIED;
+  }
+
+  private long keyAt(int index) {
+    return slots.getLong(offset(index) + KEY_OFFSET);
+  }
+
+  private int nextIndex(int index) {
+    return PrimitiveHashing.nextIndex(index, capacity);
+  }
+
+  private static int offset(int index) {
+    return index * SLOT_SIZE;
+  }
+
+  private void assertIsOpen() {
+    if (slots == null)
+      throw new IllegalStateException("Hash table has already been closed");
+  }
+
+  private void assertIsWritable() {
+    assertIsOpen();
+    if (isReadOnly)
+      throw new UnsupportedOperationException("Hash table is read-only (memory-mapped)");
+  }
+
+}
@@ -0,0 +1,198 @@
+package pl.beben.datastructure;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Hash table that keeps its entries directly in arrays (open addressing) instead of chaining them through nodes. <br/>
+ * Collisions are resolved with linear probing using the Robin Hood strategy, removal is done with backward shift deletion.
+ * @implNote adding a key that is already present overrides its value
+ */
+public class OpenAddressingHashTable<KEY, VALUE> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+  // with Robin Hood probing the average probe length stays short even with a quite crowded table
+  private static final float MAX_LOAD_FACTOR = 0.75f;
+
+  // parallel arrays - slot `i` is described by `keys[i]`, `values[i]` and `probeLengths[i]`
+  Object[] keys;
+  Object[] values;
+
+  // distance of an entry from its "home" slot (the one its hash points to), -1 marks an empty slot
+  int[] probeLengths;
+
+  private int size;
+
+  public OpenAddressingHashTable() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public OpenAddressingHashTable(int initialCapacity) {
+    if (initialCapacity < 1)
+      throw new IllegalArgumentException("Initial capacity must be positive");
+
+    allocate(initialCapacity);
+  }
+
+  public void add(KEY key, VALUE value) {
+    Objects.requireNonNull(key, "key");
+
+    // overriding the value of a present key doesn't add an entry, so it must not trigger a resize
+    final var slotIndex = findSlotIndex(key);
+    if (slotIndex >= 0) {
+      values[slotIndex] = value;
+      return;
+    }
+
+    if (size + 1 > keys.length * MAX_LOAD_FACTOR)
+      resize(keys.length * 2);
+
+    insert(key, value);
+  }
+
+  /**
+   * @return whether the element has been successfully removed
+   */
+  public boolean remove(KEY key) {
+    final var slotIndex = findSlotIndex(key);
+    if (slotIndex < 0)
+      return false;
+
+    // Backward shift deletion - instead of leaving a tombstone, shift every following entry of the same cluster
+    // one slot back (towards its home slot), until an empty slot or an entry that already sits at its home slot is found.
+    // This way lookups never have to skip over deleted entries and probe lengths don't grow over time.
+    var index = slotIndex;
+    var nextIndex = nextIndex(index);
+
+    while (probeLengths[nextIndex] > 0) {
+      keys[index] = keys[nextIndex];
+      values[index] = values[nextIndex];
+      probeLengths[index] = probeLengths[nextIndex] - 1;
+
+      index = nextIndex;
+      nextIndex = nextIndex(index);
+    }
+
+    keys[index] = null;
+    values[index] = null;
+    probeLengths[index] = -1;
+
+    size--;
+    return true;
+  }
+
+  public boolean containsKey(KEY key) {
+    return findSlotIndex(key) >= 0;
+  }
+
+  /**
+   * @return value assigned to given key, {@literal null} if the key is absent
+   */
+  public VALUE get(KEY key) {
+    return getOrDefault(key, null);
+  }
+
+  public VALUE getOrDefault(KEY key, VALUE defaultValue) {
+    final var slotIndex = findSlotIndex(key);
+    return slotIndex >= 0 ? (VALUE) values[slotIndex] : defaultValue;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  int calculateHomeIndex(Object key) {
+    return calculateHomeIndex(key, keys.length);
+  }
+
+  int calculateHomeIndex(Object key, int capacity) {
+    return Math.floorMod(key.hashCode(), capacity);
+  }
+
+  /**
+   * @return index of the slot holding given key, -1 if the key is absent
+   */
+  int findSlotIndex(Object key) {
+    if (key == null)
+      return -1;
+
+    var index = calculateHomeIndex(key);
+
+    for (var probeLength = 0; ; probeLength++) {
+      // Robin Hood invariant - if we've probed further than the entry sitting here, our key would have displaced it,
+      // so it can't be present further down the cluster
+      if (probeLengths[index] < probeLength)
+        return -1;
+
+      if (Objects.equals(keys[index], key))
+        return index;
+
+      index = nextIndex(index);
+    }
+  }
+
+  /**
+   * @param key must be absent
+   */
+  private void insert(Object key, Object value) {
+    var index = calculateHomeIndex(key);
+    var probeLength = 0;
+
+    while (true) {
+
+      if (probeLengths[index] < 0) {
+        keys[index] = key;
+        values[index] = value;
+        probeLengths[index] = probeLength;
+        size++;
+        return;
+      }
+
+      // Robin Hood - "take from the rich, give to the poor". An entry that is closer to its home slot than the one
+      // being inserted gives its place away and continues probing itself. That keeps probe lengths even across all entries.
+      if (probeLengths[index] < probeLength) {
+        final var displacedKey = keys[index];
+        final var displacedValue = values[index];
+        final var displacedProbeLength = probeLengths[index];
+
+        keys[index] = key;
+        values[index] = value;
+        probeLengths[index] = probeLength;
+
+        key = displacedKey;
+        value = displacedValue;
+        probeLength = displacedProbeLength;
+      }
+
+      index = nextIndex(index);
+      probeLength++;
+    }
+  }
+
+  private void resize(int capacity) {
+    final var oldKeys = keys;
+    final var oldValues = values;
+    final var oldProbeLengths = probeLengths;
+
+    allocate(capacity);
+
+    for (var i = 0; i < oldKeys.length; i++) {
+      if (oldProbeLengths[i] >= 0)
+        insert(oldKeys[i], oldValues[i]);
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    probeLengths = new int[capacity];
+    Arrays.fill(probeLengths, -1);
+    size = 0;
+  }
+
+  private int nextIndex(int index) {
+    return index + 1 == keys.length ? 0 : index + 1;
+  }
+
+}
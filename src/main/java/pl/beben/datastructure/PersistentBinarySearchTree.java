@@ -0,0 +1,216 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import pl.beben.utils.ComparableUtils;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Persistent (immutable) version of {@link pl.beben.datastructure.BinarySearchTree} - {@link #add(Comparable)} and {@link #remove(Comparable)}
+ * never modify the tree, they return a new one instead. <br/>
+ * Only the nodes on the path from the root to the modified one are copied (path copying), every other subtree is shared
+ * between the old and the new version, so a modification costs <i>O(height)</i> time and memory. <br/>
+ * Every version is a consistent point-in-time snapshot which can be read from any number of threads without locking -
+ * a writer only has to publish the newest version (e.g. through a {@code volatile} field), and taking a snapshot is just reading it.
+ * @implNote equality is checked using {@link Comparable#compareTo(Object)} method
+ */
+public class PersistentBinarySearchTree<VALUE extends Comparable> {
+
+  final Node<VALUE> rootNode;
+
+  public PersistentBinarySearchTree() {
+    this(null);
+  }
+
+  private PersistentBinarySearchTree(Node<VALUE> rootNode) {
+    this.rootNode = rootNode;
+  }
+
+  /**
+   * @return new version of the tree, containing given value as well
+   */
+  public PersistentBinarySearchTree<VALUE> add(@NonNull VALUE value) {
+    // find the place for the new node, remembering the path - every node on it has to be copied
+    final var path = new ArrayDeque<Node<VALUE>>();
+    var node = rootNode;
+
+    while (node != null) {
+      path.push(node);
+      node = isGreaterThan(node.value, value) ? node.left : node.right;
+    }
+
+    return new PersistentBinarySearchTree<>(copyPath(path, value, new Node<>(value, null, null)));
+  }
+
+  public boolean contains(VALUE value) {
+    if (value == null)
+      return false;
+
+    var node = rootNode;
+    while (node != null && !isEqualTo(node.value, value))
+      node = isGreaterThan(node.value, value) ? node.left : node.right;
+
+    return node != null;
+  }
+
+  /**
+   * @return new version of the tree, without (one occurrence of) given value - or this very version, if there is no such value
+   */
+  public PersistentBinarySearchTree<VALUE> remove(VALUE value) {
+    if (value == null)
+      return this;
+
+    final var path = new ArrayDeque<Node<VALUE>>();
+    var node = rootNode;
+
+    while (node != null && !isEqualTo(node.value, value)) {
+      path.push(node);
+      node = isGreaterThan(node.value, value) ? node.left : node.right;
+    }
+
+    if (node == null)
+      return this;
+
+    final Node<VALUE> replacement;
+
+    if (node.left == null) {
+      replacement = node.right;
+    } else if (node.right == null) {
+      replacement = node.left;
+    } else {
+      // Two children - the node can't be modified, so a copy of it takes over the value of its successor
+      // (the min node greater than it), and the successor gets unlinked from the (copied) right subtree instead
+      var successor = node.right;
+      while (successor.left != null)
+        successor = successor.left;
+
+      replacement = new Node<>(successor.value, node.left, removeMin(node.right));
+    }
+
+    return new PersistentBinarySearchTree<>(copyPath(path, value, replacement));
+  }
+
+  public int size() {
+    return size(rootNode);
+  }
+
+  public boolean isEmpty() {
+    return rootNode == null;
+  }
+
+  /**
+   * Unlike {@link BinarySearchTree#forEach(Consumer)} it can't link the nodes back (they are immutable and shared between versions),
+   * so it uses an explicit stack instead
+   */
+  public void forEach(Consumer<VALUE> consumer) {
+    final var iterator = iterator();
+    while (iterator.hasNext())
+      consumer.accept(iterator.next());
+  }
+
+  /**
+   * @return lazy in-order iterator over every value of this version - modifications made afterwards are not visible to it
+   */
+  public Iterator<VALUE> iterator() {
+    return new InOrderIterator(rootNode);
+  }
+
+  /**
+   * Rebuilds the path bottom-up - starting with the new child of the deepest node of the path,
+   * every node is copied with the (already copied) child on the side the value went to
+   * @return root of the new version
+   */
+  private static <VALUE extends Comparable> Node<VALUE> copyPath(Deque<Node<VALUE>> path, VALUE value, Node<VALUE> child) {
+    while (!path.isEmpty()) {
+      final var parent = path.pop();
+      child = isGreaterThan(parent.value, value)
+        ? new Node<>(parent.value, child, parent.right)
+        : new Node<>(parent.value, parent.left, child);
+    }
+    return child;
+  }
+
+  /**
+   * @return copy of given subtree without its min node
+   */
+  private static <VALUE extends Comparable> Node<VALUE> removeMin(Node<VALUE> node) {
+    final var path = new ArrayDeque<Node<VALUE>>();
+    while (node.left != null) {
+      path.push(node);
+      node = node.left;
+    }
+
+    // the min node has no left child, but it may have a right one - which takes its place
+    var child = node.right;
+    while (!path.isEmpty()) {
+      final var parent = path.pop();
+      child = new Node<>(parent.value, child, parent.right);
+    }
+    return child;
+  }
+
+  private static int size(Node<?> node) {
+    return node != null ? node.size : 0;
+  }
+
+  private static boolean isGreaterThan(Comparable a, Comparable b) {
+    return ComparableUtils.isGreaterThan(a, b);
+  }
+
+  private static boolean isEqualTo(Comparable a, Comparable b) {
+    return ComparableUtils.isEqualTo(a, b);
+  }
+
+  private class InOrderIterator implements Iterator<VALUE> {
+
+    private final Deque<Node<VALUE>> stack = new ArrayDeque<>();
+
+    InOrderIterator(Node<VALUE> rootNode) {
+      pushLeftPath(rootNode);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    @Override
+    public VALUE next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+
+      final var node = stack.pop();
+      pushLeftPath(node.right);
+      return node.value;
+    }
+
+    private void pushLeftPath(Node<VALUE> node) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
+      }
+    }
+  }
+
+  /**
+   * Immutable - every field is final, so a fully constructed node is safely visible to every thread
+   */
+  static class Node<NODE_VALUE extends Comparable> {
+    final Node<NODE_VALUE> left;
+    final Node<NODE_VALUE> right;
+    final NODE_VALUE value;
+    // number of nodes in the subtree rooted in this node (including itself)
+    final int size;
+
+    Node(NODE_VALUE value, Node<NODE_VALUE> left, Node<NODE_VALUE> right) {
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.size = 1 + size(left) + size(right);
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+package pl.beben.datastructure;
+
+import lombok.NoArgsConstructor;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Hashing shared by the primitive-keyed hash tables ({@link pl.beben.datastructure.IntIntHashTable},
+ * {@link pl.beben.datastructure.IntObjHashTable}, {@link pl.beben.datastructure.LongObjHashTable})
+ */
+@NoArgsConstructor(access = PRIVATE)
+class PrimitiveHashing {
+
+  // 2^32 / golden ratio
+  private static final int INT_PHI = 0x9E3779B9;
+  // 2^64 / golden ratio
+  private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+  /**
+   * @return the smallest power of two able to hold given amount of slots
+   */
+  static int tableCapacityFor(int initialCapacity) {
+    if (initialCapacity < 1)
+      throw new IllegalArgumentException("Initial capacity must be positive");
+
+    return Math.max(2, Integer.highestOneBit(initialCapacity - 1) << 1);
+  }
+
+  /**
+   * Fibonacci hashing - multiplying by the golden ratio spreads consecutive keys (ids) all over the table,
+   * while taking the highest bits (instead of {@code key % capacity}) makes use of the best mixed part of the product.
+   * @param capacity must be a power of two
+   */
+  static int calculateHomeIndex(int key, int capacity) {
+    return (key * INT_PHI) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(capacity));
+  }
+
+  static int calculateHomeIndex(long key, int capacity) {
+    return (int) ((key * LONG_PHI) >>> (Long.SIZE - Integer.numberOfTrailingZeros(capacity)));
+  }
+
+  /**
+   * @param capacity must be a power of two
+   * @return index of the slot following given one (wrapping around the end of the table)
+   */
+  static int nextIndex(int index, int capacity) {
+    return (index + 1) & (capacity - 1);
+  }
+
+  /**
+   * Linear probing's backward shift deletion helper
+   * @return whether an entry sitting at {@code index}, having given {@code homeIndex}, can be moved to the {@code gapIndex}
+   *         without becoming unreachable - which is the case unless its home slot lies cyclically within {@code (gapIndex, index]}
+   */
+  static boolean canBeShiftedBack(int homeIndex, int gapIndex, int index) {
+    return gapIndex <= index
+      ? homeIndex <= gapIndex || homeIndex > index
+      : homeIndex <= gapIndex && homeIndex > index;
+  }
+
+}
@@ -0,0 +1,246 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Path-compressed (radix, Patricia) version of {@link pl.beben.datastructure.Trie} - every chain of nodes having a single child
+ * (and not being an end of word) is collapsed into a single node, whose edge is labelled with the whole chain of characters:
+ * <pre>
+ *   Trie                      RadixTrie
+ *
+ *            ROOT                  ROOT
+ *         c      d             ca       dog:
+ *      a            o        r:   ncer:
+ *   r:    n            g:   d:
+ *   d:      c
+ *             e
+ *               r:
+ * </pre>
+ * Every label is an array of its own, holding just the label's characters - so a node doesn't keep the rest of the word that
+ * created it reachable, and splitting a label (when a word diverges in the middle of it) copies both of its parts.
+ * @implNote the empty word is ignored, the same way {@link pl.beben.datastructure.Trie} ignores it
+ */
+public class RadixTrie {
+
+  final Node root = new Node(new char[0]);
+
+  public void addWord(@NonNull String word) {
+    if (word.isEmpty())
+      return;
+
+    final var chars = word.toCharArray();
+    var node = root;
+    var i = 0;
+
+    while (i < chars.length) {
+      final var child = node.charToNode.get(chars[i]);
+
+      if (child == null) {
+        // nothing shares the rest of the word - it becomes the label of a single new leaf
+        final var leaf = new Node(Arrays.copyOfRange(chars, i, chars.length));
+        leaf.isEndOfWord = true;
+        node.charToNode.put(chars[i], leaf);
+        return;
+      }
+
+      final var commonLength = commonPrefixLength(child, chars, i);
+
+      if (commonLength < child.label.length) {
+        // The word diverges (or ends) in the middle of the label - split it. The first part becomes a new node
+        // between the node and the child, and the child keeps the rest of the label (and its children).
+        final var middle = new Node(Arrays.copyOf(child.label, commonLength));
+        child.label = Arrays.copyOfRange(child.label, commonLength, child.label.length);
+        middle.charToNode.put(child.label[0], child);
+        node.charToNode.put(chars[i], middle);
+        node = middle;
+      } else {
+        node = child;
+      }
+
+      i += commonLength;
+    }
+
+    node.isEndOfWord = true;
+  }
+
+  public void removeWord(@NonNull String word) {
+    // keep track of the parent and the grandparent - they are the ones that may have to be relinked
+    Node grandparent = null;
+    Node parent = null;
+    var node = root;
+    var i = 0;
+
+    while (i < word.length()) {
+      final var child = node.charToNode.get(word.charAt(i));
+      if (child == null || !labelMatches(child, word, i) || i + child.label.length > word.length())
+        return;
+
+      grandparent = parent;
+      parent = node;
+      node = child;
+      i += child.label.length;
+    }
+
+    if (!node.isEndOfWord || node == root)
+      return;
+
+    node.isEndOfWord = false;
+
+    if (node.charToNode.isEmpty()) {
+      // a leaf which is no longer a word - remove it, which may leave the parent with a single child to merge with
+      parent.charToNode.remove(node.label[0]);
+
+      if (parent != root && !parent.isEndOfWord && parent.charToNode.size() == 1)
+        mergeWithOnlyChild(grandparent, parent);
+
+    } else if (node.charToNode.size() == 1) {
+      mergeWithOnlyChild(parent, node);
+    }
+  }
+
+  public boolean containsWord(@NonNull String word) {
+    final var node = findNode(word, true, null);
+    return node != null && node.isEndOfWord;
+  }
+
+  public boolean contains(@NonNull String string) {
+    return findNode(string, false, null) != null;
+  }
+
+  /**
+   * @return every word starting with given prefix (including the prefix itself, if it is a word), empty set if there is none
+   */
+  public Set<String> searchWordsStartingWith(@NonNull String prefix) {
+    final var words = new HashSet<String>();
+
+    // the prefix may end in the middle of a label - the path of the node found may be longer than the prefix
+    final var wordBuilder = new StringBuilder();
+    final var prefixNode = findNode(prefix, false, wordBuilder);
+    if (prefixNode == null)
+      return words;
+
+    // depth first, with a single buffer - a node's label is appended after trimming the buffer to the length of its parent's path
+    final var nodeStack = new ArrayDeque<Node>();
+    final var pathLengthStack = new ArrayDeque<Integer>();
+
+    for (final var child : prefixNode.charToNode.values()) {
+      nodeStack.push(child);
+      pathLengthStack.push(wordBuilder.length());
+    }
+
+    if (prefixNode.isEndOfWord)
+      words.add(wordBuilder.toString());
+
+    while (!nodeStack.isEmpty()) {
+      final var node = nodeStack.pop();
+
+      wordBuilder.setLength(pathLengthStack.pop());
+      wordBuilder.append(node.label);
+
+      if (node.isEndOfWord)
+        words.add(wordBuilder.toString());
+
+      for (final var child : node.charToNode.values()) {
+        nodeStack.push(child);
+        pathLengthStack.push(wordBuilder.length());
+      }
+    }
+
+    return words;
+  }
+
+  /**
+   * @return number of nodes, including the root
+   */
+  public int nodeCount() {
+    var count = 0;
+    final var stack = new ArrayDeque<Node>();
+    stack.push(root);
+
+    while (!stack.isEmpty()) {
+      count++;
+      stack.pop().charToNode.values().forEach(stack::push);
+    }
+    return count;
+  }
+
+  /**
+   * @param mustEndAtNode whether the string may end in the middle of a label (in which case the node that label leads to is returned)
+   * @param pathBuilder if not null, the whole labels of every node on the way are appended to it
+   * @return node at which (or in whose label) the string ends, null if there is no such node
+   */
+  private Node findNode(String string, boolean mustEndAtNode, StringBuilder pathBuilder) {
+    var node = root;
+    var i = 0;
+
+    while (i < string.length()) {
+      final var child = node.charToNode.get(string.charAt(i));
+      if (child == null || !labelMatches(child, string, i))
+        return null;
+
+      if (i + child.label.length > string.length() && mustEndAtNode)
+        return null;
+
+      if (pathBuilder != null)
+        pathBuilder.append(child.label);
+
+      node = child;
+      i += child.label.length;
+    }
+
+    return node;
+  }
+
+  /**
+   * The node gets the label of its only child appended to its own, and the child takes its place
+   * (that way the child's children don't have to be moved)
+   */
+  private static void mergeWithOnlyChild(Node parent, Node node) {
+    final var child = node.charToNode.values().iterator().next();
+
+    final var label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+    System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+    child.label = label;
+
+    parent.charToNode.put(child.label[0], child);
+  }
+
+  private static int commonPrefixLength(Node node, char[] chars, int from) {
+    var length = 0;
+    while (length < node.label.length && from + length < chars.length && node.label[length] == chars[from + length])
+      length++;
+    return length;
+  }
+
+  /**
+   * @return whether the label and the string starting at given index are equal, for as long as both of them last
+   */
+  private static boolean labelMatches(Node node, String string, int from) {
+    for (var i = 0; i < node.label.length && from + i < string.length(); i++)
+      if (node.label[i] != string.charAt(from + i))
+        return false;
+    return true;
+  }
+
+  static class Node {
+    // label of the edge leading to this node (empty for the root)
+    char[] label;
+    final Map<Character, Node> charToNode = new HashMap<>();
+    boolean isEndOfWord;
+
+    Node(char[] label) {
+      this.label = label;
+    }
+
+    String label() {
+      return new String(label);
+    }
+  }
+
+}
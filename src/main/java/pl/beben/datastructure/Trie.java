@@ -1,20 +1,49 @@
 package pl.beben.datastructure;
 
 import lombok.RequiredArgsConstructor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Trie {
 
+  // max weight of a subtree that has no words (e.g. of the root of an empty trie)
+  private static final long NO_WEIGHT = -1;
+
   final Node root = new Node(null);
 
   // delegating methods
 
+  /**
+   * Adds the word with weight of 0 - if the word is already there, its weight stays unchanged
+   */
   public void addWord(String word) {
-    addWord(word.toCharArray());
+    addWord(word.toCharArray(), 0, false);
+  }
+
+  /**
+   * Adds the word with given weight (or updates the weight, if the word is already there) - see {@link #topK(String, int)}
+   * @throws java.lang.IllegalArgumentException if the weight is negative
+   */
+  public void addWord(String word, long weight) {
+    if (weight < 0)
+      throw new IllegalArgumentException("Weight must not be negative, but is " + weight);
+
+    addWord(word.toCharArray(), weight, true);
   }
 
   public void removeWord(String word) {
@@ -81,17 +110,165 @@ public class Trie {
     return words;
   }
 
-  private void addWord(char[] word) {
-    var node = root;
-    for (var i = 0; i < word.length; i++) {
-      final var character = word[i];
-      final var characterIsEndOfWord = i == word.length - 1;
+  // lazy versions - the subtree is walked only as far as the caller keeps asking for the next word
+
+  /**
+   * @return lazy iterator over the words starting with given prefix (including the prefix itself, if it is a word),
+   * in no particular order. Apart from the returned words, the only allocations are one per visited node
+   * (iterator over its children) - the words are built in a single reused buffer.
+   * @implNote the trie must not be modified while iterating
+   */
+  public Iterator<String> iterateWordsStartingWith(String prefix) {
+    final var node = findNode(prefix);
+    return node != null
+      ? new WordIterator(node, prefix)
+      : Collections.emptyIterator();
+  }
+
+  /**
+   * @return lazy stream of the words starting with given prefix - e.g. {@code streamWordsStartingWith("a").limit(10)}
+   * visits only as many nodes as needed to find the first 10 words
+   */
+  public Stream<String> streamWordsStartingWith(String prefix) {
+    final var spliterator = Spliterators.spliteratorUnknownSize(
+      iterateWordsStartingWith(prefix),
+      Spliterator.DISTINCT | Spliterator.NONNULL
+    );
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  /**
+   * @return at most {@code limit} words starting with given prefix, in no particular order
+   */
+  public List<String> searchWordsStartingWith(String prefix, int limit) {
+    if (limit < 0)
+      throw new IllegalArgumentException("Limit must not be negative, but is " + limit);
+
+    final var words = new ArrayList<String>(Math.min(limit, 16));
+    final var iterator = iterateWordsStartingWith(prefix);
+
+    while (words.size() < limit && iterator.hasNext())
+      words.add(iterator.next());
+
+    return words;
+  }
+
+  /**
+   * Best-first search - candidates (nodes whose subtrees are yet to be searched, and words found so far) are polled from
+   * a priority queue, ordered by the greatest weight they may lead to. For a node that's the max weight of its subtree
+   * (which every node keeps up to date), and for a word it's its own weight. <br/>
+   * Once a word is polled, there is no candidate left that could lead to a word of greater weight - so the words are
+   * polled in descending order, and the search stops after the k-th one. Only the subtrees that may contain
+   * one of the top k words are entered, rather than every node below the prefix.
+   * @return at most k words starting with given prefix, having the greatest weights - in descending order of weight
+   */
+  public List<String> topK(String prefix, int k) {
+    if (k < 0)
+      throw new IllegalArgumentException("K must not be negative, but is " + k);
+
+    final var words = new ArrayList<String>(Math.min(k, 16));
+    final var prefixNode = findNode(prefix);
+    if (prefixNode == null || k == 0)
+      return words;
+
+    final var candidates = new PriorityQueue<Candidate>((a, b) -> Long.compare(b.weight, a.weight));
+    candidates.add(new Candidate(prefixNode, null, '\0', prefixNode.maxSubtreeWeight, false));
+
+    while (words.size() < k && !candidates.isEmpty()) {
+      final var candidate = candidates.poll();
+
+      if (candidate.isWord) {
+        words.add(candidate.buildWord(prefix));
+        continue;
+      }
+
+      final var node = candidate.node;
+      if (node.isEndOfWord)
+        candidates.add(new Candidate(node, candidate.parent, candidate.character, node.weight, true));
+
+      node.charToNode
+        .forEach((childNodeCharacter, childNode) ->
+          candidates.add(new Candidate(childNode, candidate, childNodeCharacter, childNode.maxSubtreeWeight, false))
+        );
+    }
+
+    return words;
+  }
+
+  /**
+   * Walks the trie depth first, computing the Levenshtein distance matrix between the word and the path row by row - every node
+   * adds a single row (distances between its path and every prefix of the word), computed from the row of its parent. <br/>
+   * The values of a row never get smaller in the rows below it, so once every value of a row exceeds maxEdits,
+   * the subtree can be skipped. Rows are preallocated and reused (a node at given depth always writes to the same row).
+   * @return every word whose (Levenshtein) edit distance to given one is at most maxEdits
+   */
+  public Set<String> searchWithinDistance(String word, int maxEdits) {
+    if (maxEdits < 0)
+      throw new IllegalArgumentException("Max edits must not be negative, but is " + maxEdits);
+
+    // a path longer than the word by more than maxEdits can't be within the distance - nor can anything below it
+    final var maxDepth = word.length() + maxEdits + 1;
+    final var rows = new int[maxDepth + 1][word.length() + 1];
+
+    // distances between the empty path (of the root) and every prefix of the word - the prefix has to be removed entirely
+    for (var i = 0; i <= word.length(); i++)
+      rows[0][i] = i;
+
+    final var words = new HashSet<String>();
+    searchWithinDistance(words, root, 0, new char[maxDepth], word, maxEdits, rows);
+    return words;
+  }
+
+  private void searchWithinDistance(Set<String> words, Node node, int depth, char[] path, String word, int maxEdits, int[][] rows) {
+    final var parentRow = rows[depth];
+    final var row = rows[depth + 1];
+
+    node.charToNode
+      .forEach((childNodeCharacter, childNode) -> {
+        path[depth] = childNodeCharacter;
+
+        // the path (of depth + 1 characters) against the empty prefix of the word - every character has to be removed
+        row[0] = depth + 1;
+        var rowMin = row[0];
+
+        for (var i = 1; i <= word.length(); i++) {
+          final var substitutionCost = word.charAt(i - 1) == childNodeCharacter ? 0 : 1;
+          row[i] = Math.min(
+            Math.min(row[i - 1] + 1, parentRow[i] + 1),
+            parentRow[i - 1] + substitutionCost
+          );
+          rowMin = Math.min(rowMin, row[i]);
+        }
+
+        if (childNode.isEndOfWord && row[word.length()] <= maxEdits)
+          words.add(new String(path, 0, depth + 1));
+
+        if (rowMin <= maxEdits)
+          searchWithinDistance(words, childNode, depth + 1, path, word, maxEdits, rows);
+      });
+  }
 
+  /**
+   * @param overridesWeight whether the weight of a word that is already there gets overridden
+   */
+  private void addWord(char[] word, long weight, boolean overridesWeight) {
+    if (word.length == 0)
+      return;
+
+    var node = root;
+    for (final var character : word) {
       if (!node.charToNode.containsKey(character))
         node.charToNode.put(character, new Node(node));
 
       node = node.charToNode.get(character);
-      node.isEndOfWord |= characterIsEndOfWord;
+    }
+
+    final var isNewWord = !node.isEndOfWord;
+    node.isEndOfWord = true;
+
+    if (isNewWord || overridesWeight) {
+      node.weight = weight;
+      updateMaxSubtreeWeights(node);
     }
   }
 
@@ -107,14 +284,34 @@ public class Trie {
       final var nodeIsRoot = node.parent == null;
       final var nodeHasChildren = !node.charToNode.isEmpty();
 
-      if (nodeIsRoot || nodeHasChildren)
-        return;
+      // a node that is the end of another word must stay as well (it's the prefix of the removed word)
+      if (nodeIsRoot || nodeHasChildren || node.isEndOfWord)
+        break;
 
       assert node.parent.charToNode.get(character) == node;
 
       node.parent.charToNode.remove(character);
       node = node.parent;
     }
+
+    updateMaxSubtreeWeights(node);
+  }
+
+  /**
+   * Recomputes max subtree weights of given node and its ancestors - stopping at the first one whose weight didn't change,
+   * since the ones above it can't change either
+   */
+  private static void updateMaxSubtreeWeights(Node node) {
+    for (; node != null; node = node.parent) {
+      var maxSubtreeWeight = node.isEndOfWord ? node.weight : NO_WEIGHT;
+      for (final var childNode : node.charToNode.values())
+        maxSubtreeWeight = Math.max(maxSubtreeWeight, childNode.maxSubtreeWeight);
+
+      if (maxSubtreeWeight == node.maxSubtreeWeight)
+        return;
+
+      node.maxSubtreeWeight = maxSubtreeWeight;
+    }
   }
 
   private Node findNode(char[] chars) {
@@ -125,11 +322,95 @@ public class Trie {
     return node;
   }
 
+  /**
+   * Depth first traversal with a stack of iterators over the children of every node on the path - the buffer always holds
+   * the prefix followed by the characters of that path, so a character is appended when going down and removed when going back up
+   */
+  private static class WordIterator implements Iterator<String> {
+
+    private final Deque<Iterator<Map.Entry<Character, Node>>> childIteratorStack = new ArrayDeque<>();
+    private final StringBuilder wordBuilder;
+    private String nextWord;
+
+    WordIterator(Node prefixNode, String prefix) {
+      wordBuilder = new StringBuilder(prefix);
+      childIteratorStack.push(prefixNode.charToNode.entrySet().iterator());
+      nextWord = prefixNode.isEndOfWord ? prefix : findNextWord();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextWord != null;
+    }
+
+    @Override
+    public String next() {
+      if (nextWord == null)
+        throw new NoSuchElementException();
+
+      final var word = nextWord;
+      nextWord = findNextWord();
+      return word;
+    }
+
+    private String findNextWord() {
+      while (!childIteratorStack.isEmpty()) {
+        final var childIterator = childIteratorStack.peek();
+
+        if (!childIterator.hasNext()) {
+          // every child of the node is done - go back up (the prefix node, at the bottom of the stack, has no character of its own)
+          childIteratorStack.pop();
+          if (!childIteratorStack.isEmpty())
+            wordBuilder.setLength(wordBuilder.length() - 1);
+          continue;
+        }
+
+        final var characterToChild = childIterator.next();
+        wordBuilder.append(characterToChild.getKey().charValue());
+        childIteratorStack.push(characterToChild.getValue().charToNode.entrySet().iterator());
+
+        if (characterToChild.getValue().isEndOfWord)
+          return wordBuilder.toString();
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Node of the search tree of {@link #topK(String, int)} - rather than a String, every candidate knows its parent
+   * and the character leading to it, so that a word is built only if it makes it to the result
+   */
+  @RequiredArgsConstructor
+  private static class Candidate {
+    final Node node;
+    final Candidate parent;
+    final char character;
+    final long weight;
+    final boolean isWord;
+
+    String buildWord(String prefix) {
+      var length = prefix.length();
+      for (var candidate = this; candidate.parent != null; candidate = candidate.parent)
+        length++;
+
+      final var word = new char[length];
+      prefix.getChars(0, prefix.length(), word, 0);
+      for (var candidate = this; candidate.parent != null; candidate = candidate.parent)
+        word[--length] = candidate.character;
+
+      return new String(word);
+    }
+  }
+
   @RequiredArgsConstructor
   static class Node {
     final Node parent;
     final Map<Character, Node> charToNode = new HashMap<>();
     boolean isEndOfWord;
+    // meaningful only if the node is the end of a word
+    long weight;
+    // max weight of the words in the subtree rooted in this node (including itself)
+    long maxSubtreeWeight = NO_WEIGHT;
 
   }
 
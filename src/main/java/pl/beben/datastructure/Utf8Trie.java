@@ -0,0 +1,176 @@
+package pl.beben.datastructure;
+
+import lombok.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static pl.beben.datastructure.MappedUtf8Trie.BYTE_ORDER;
+import static pl.beben.datastructure.MappedUtf8Trie.FILE_FORMAT_VERSION;
+import static pl.beben.datastructure.MappedUtf8Trie.FILE_HEADER_SIZE;
+import static pl.beben.datastructure.MappedUtf8Trie.FILE_MAGIC;
+import static pl.beben.datastructure.MappedUtf8Trie.nodeSize;
+
+/**
+ * Version of {@link pl.beben.datastructure.Trie} whose edges are labelled with the bytes of UTF-8 encoded words, rather than chars. <br/>
+ * A node has at most 256 children, kept in two sorted arrays (labels and child nodes) - instead of a HashMap of boxed characters. <br/>
+ * The trie is meant to be built once and saved to a file ({@link #writeTo(Path)}), which can then be memory-mapped
+ * with {@link MappedUtf8Trie#open(Path)} and searched directly, without building anything on the heap.
+ * @implNote not thread safe
+ */
+public class Utf8Trie {
+
+  final Node root = new Node();
+  private int wordCount;
+
+  public void addWord(@NonNull String word) {
+    final var bytes = word.getBytes(UTF_8);
+    var node = root;
+
+    for (final var label : bytes) {
+      var child = node.child(label);
+      if (child == null)
+        child = node.addChild(label);
+      node = child;
+    }
+
+    if (bytes.length > 0 && !node.isEndOfWord) {
+      node.isEndOfWord = true;
+      wordCount++;
+    }
+  }
+
+  public boolean containsWord(@NonNull String word) {
+    final var node = findNode(word);
+    return node != null && node.isEndOfWord;
+  }
+
+  public boolean contains(@NonNull String string) {
+    return findNode(string) != null;
+  }
+
+  public int wordCount() {
+    return wordCount;
+  }
+
+  /**
+   * Saves the trie to given file (overwriting it), so that it can be memory-mapped with {@link MappedUtf8Trie#open(Path)}.
+   * See {@link MappedUtf8Trie} for the format.
+   * @throws java.lang.IllegalStateException if the trie is too big for a single mapped buffer (2GB)
+   */
+  public void writeTo(Path file) throws IOException {
+    // level order - the nodes are written in this order, and their offsets have to be known before any of them is written
+    final var nodes = new ArrayList<Node>();
+    nodes.add(root);
+    for (var i = 0; i < nodes.size(); i++)
+      nodes.addAll(Arrays.asList(nodes.get(i).children).subList(0, nodes.get(i).childCount));
+
+    final var offsets = new int[nodes.size()];
+    var nodesSize = 0L;
+    for (var i = 0; i < nodes.size(); i++) {
+      offsets[i] = (int) nodesSize;
+      nodesSize += nodeSize(nodes.get(i).childCount);
+
+      if (nodesSize > Integer.MAX_VALUE - FILE_HEADER_SIZE)
+        throw new IllegalStateException("Trie of " + nodes.size() + "+ nodes exceeds the maximum size of a mapped buffer");
+    }
+
+    final var buffer = ByteBuffer.allocate(FILE_HEADER_SIZE + (int) nodesSize).order(BYTE_ORDER)
+      .putInt(FILE_MAGIC)
+      .putInt(FILE_FORMAT_VERSION)
+      .putInt(wordCount)
+      .putInt((int) nodesSize);
+
+    // children of every node come right after the children of the previous one, so their indexes are just counted
+    var childIndex = 1;
+    for (final var node : nodes) {
+      buffer
+        .put((byte) (node.isEndOfWord ? 1 : 0))
+        .putShort((short) node.childCount)
+        .put(node.labels, 0, node.childCount);
+
+      for (var i = 0; i < node.childCount; i++)
+        buffer.putInt(offsets[childIndex++]);
+    }
+
+    buffer.flip();
+    try (final var channel = FileChannel.open(file, WRITE, CREATE, TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining())
+        channel.write(buffer);
+    }
+  }
+
+  private Node findNode(String string) {
+    var node = root;
+    for (final var label : string.getBytes(UTF_8)) {
+      node = node.child(label);
+      if (node == null)
+        return null;
+    }
+    return node;
+  }
+
+  /**
+   * Labels are compared as unsigned bytes (the way UTF-8 sorts), the same order they are written in
+   */
+  static int indexOf(byte[] labels, int count, byte label) {
+    var low = 0;
+    var high = count - 1;
+
+    while (low <= high) {
+      final var middle = (low + high) >>> 1;
+      final var comparison = Byte.compareUnsigned(labels[middle], label);
+
+      if (comparison < 0)
+        low = middle + 1;
+      else if (comparison > 0)
+        high = middle - 1;
+      else
+        return middle;
+    }
+    // not found - (-insertionPoint - 1), the same as Arrays#binarySearch
+    return -low - 1;
+  }
+
+  static class Node {
+    private static final byte[] NO_LABELS = new byte[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    boolean isEndOfWord;
+    // children[i] is the child labelled with labels[i], both sorted and valid within [0, childCount)
+    byte[] labels = NO_LABELS;
+    Node[] children = NO_CHILDREN;
+    int childCount;
+
+    Node child(byte label) {
+      final var index = indexOf(labels, childCount, label);
+      return index >= 0 ? children[index] : null;
+    }
+
+    Node addChild(byte label) {
+      final var insertionPoint = -indexOf(labels, childCount, label) - 1;
+
+      if (childCount == labels.length) {
+        final var newCapacity = Math.min(256, Math.max(2, childCount * 2));
+        labels = Arrays.copyOf(labels, newCapacity);
+        children = Arrays.copyOf(children, newCapacity);
+      }
+
+      System.arraycopy(labels, insertionPoint, labels, insertionPoint + 1, childCount - insertionPoint);
+      System.arraycopy(children, insertionPoint, children, insertionPoint + 1, childCount - insertionPoint);
+
+      final var child = new Node();
+      labels[insertionPoint] = label;
+      children[insertionPoint] = child;
+      childCount++;
+      return child;
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+package pl.beben.algorithm.pathfinding;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.beben.datastructure.CsrGraph;
+import pl.beben.datastructure.Digraph;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class PathfindingContextTest {
+
+  @Test
+  public void findPathThenMatchesDigraphVariant() {
+
+    // given
+    //
+    // [A]--(1)--→[B]--(1)--→[C]
+    //  |                     ↑
+    //  +---------(5)---------+
+    //
+    final var digraph = new Digraph<String>();
+    final var ab = digraph.createEdge("a", "b", 1);
+    final var bc = digraph.createEdge("b", "c", 1);
+    digraph.createEdge("a", "c", 5);
+    digraph.createVertex("lonely");
+
+    final var graph = CsrGraph.from(digraph);
+    final var context = new PathfindingContext<>(graph);
+
+    // when
+    final var path = DijkstraAlgorithm.findPath(context, graph.idOf("a"), graph.idOf("c"));
+
+    // then
+    Assert.assertEquals(Arrays.asList(ab, bc), context.toEdges(path));
+    Assert.assertEquals(DijkstraAlgorithm.findPath(digraph, "a", "c"), context.toEdges(path));
+
+    Assert.assertEquals(0, DijkstraAlgorithm.findPath(context, graph.idOf("a"), graph.idOf("a")).length);
+    Assert.assertNull(DijkstraAlgorithm.findPath(context, graph.idOf("a"), graph.idOf("lonely")));
+    // nothing leads back to "a"
+    Assert.assertNull(DijkstraAlgorithm.findPath(context, graph.idOf("c"), graph.idOf("a")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void findPathWithNegativeEdgeThenThrowsException() {
+    // given
+    final var digraph = new Digraph<String>();
+    digraph.createEdge("a", "b", -3);
+    final var graph = CsrGraph.from(digraph);
+    // when
+    DijkstraAlgorithm.findPath(new PathfindingContext<>(graph), graph.idOf("a"), graph.idOf("b"));
+  }
+
+  @Test
+  public void findPathManyTimesWithTheSameContextThenMatchesDigraphVariant() {
+
+    // given
+    final var random = new Random(0);
+    final var digraph = new Digraph<Integer>();
+
+    for (var vertex = 0; vertex < 300; vertex++)
+      digraph.createVertex(vertex);
+
+    for (var i = 0; i < 1_500; i++) {
+      try {
+        digraph.createEdge(random.nextInt(300), random.nextInt(300), random.nextInt(20));
+      } catch (IllegalArgumentException duplicateEdge) {
+        // ignore
+      }
+    }
+
+    final var graph = CsrGraph.from(digraph);
+    final var context = new PathfindingContext<>(graph);
+
+    for (var i = 0; i < 200; i++) {
+      final var beginning = random.nextInt(300);
+      final var destination = random.nextInt(300);
+
+      // when the context is reused by every query
+      final var path = context.toEdges(DijkstraAlgorithm.findPath(context, graph.idOf(beginning), graph.idOf(destination)));
+
+      // then the path may differ (if there is more than one shortest path), but its cost may not
+      final var expectedPath = DijkstraAlgorithm.findPath(digraph, beginning, destination);
+
+      if (expectedPath == null) {
+        Assert.assertNull(path);
+      } else {
+        Assert.assertEquals(cost(expectedPath), cost(path));
+        assertThatPathLeadsFromTo(path, beginning, destination);
+      }
+    }
+  }
+
+  @Test
+  public void findPathWithHeuristicThenExploresLessVertices() {
+
+    // given 30x30 grid, with edges to the neighbours on the left, right, top and bottom
+    final var size = 30;
+    final var digraph = new Digraph<Integer>();
+
+    for (var y = 0; y < size; y++) {
+      for (var x = 0; x < size; x++) {
+        if (x + 1 < size) {
+          digraph.createEdge(y * size + x, y * size + x + 1, 1);
+          digraph.createEdge(y * size + x + 1, y * size + x, 1);
+        }
+        if (y + 1 < size) {
+          digraph.createEdge(y * size + x, (y + 1) * size + x, 1);
+          digraph.createEdge((y + 1) * size + x, y * size + x, 1);
+        }
+      }
+    }
+
+    final var graph = CsrGraph.from(digraph);
+    final var context = new PathfindingContext<>(graph);
+    final var beginning = graph.idOf(0);
+    final var destination = graph.idOf(size * size - 1);
+
+    // when
+    final var dijkstraPath = DijkstraAlgorithm.findPath(context, beginning, destination);
+    final var dijkstraExploredVertexCount = context.exploredVertexCount();
+
+    final var aStarPath = AStarAlgorithm.findPath(context, beginning, destination, vertex -> {
+      final int gridVertex = graph.vertexOf(vertex);
+      return (size - 1 - gridVertex % size) + (size - 1 - gridVertex / size);
+    });
+    final var aStarExploredVertexCount = context.exploredVertexCount();
+
+    // then
+    Assert.assertEquals(2 * (size - 1), dijkstraPath.length);
+    Assert.assertEquals(2 * (size - 1), aStarPath.length);
+    Assert.assertEquals(size * size, dijkstraExploredVertexCount);
+    // thanks to the tie-breaking, A-Star explores only the vertices of the path
+    Assert.assertEquals(2 * (size - 1) + 1, aStarExploredVertexCount);
+    Assert.assertTrue(context.isExplored(destination));
+  }
+
+  private static int cost(List<Digraph.Edge<Integer>> path) {
+    return path.stream().mapToInt(Digraph.Edge::weight).sum();
+  }
+
+  private static void assertThatPathLeadsFromTo(List<Digraph.Edge<Integer>> path, int beginning, int destination) {
+    var vertex = beginning;
+    for (final var edge : path) {
+      Assert.assertEquals(vertex, (int) edge.vertex());
+      vertex = edge.adjacentVertex();
+    }
+    Assert.assertEquals(destination, vertex);
+  }
+
+}
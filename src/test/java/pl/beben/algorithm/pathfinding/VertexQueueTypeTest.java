@@ -0,0 +1,84 @@
+package pl.beben.algorithm.pathfinding;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.beben.datastructure.Digraph;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import static pl.beben.algorithm.pathfinding.GridBasedPathfindingAlgorithmTestUtils.computeSolution;
+
+public class VertexQueueTypeTest {
+
+  @Test
+  public void findPathWithIndexedHeapThenSameCostAsWithPriorityQueue() {
+
+    // given
+    final var random = new Random(0);
+    final var digraph = new Digraph<Integer>();
+
+    for (var vertex = 0; vertex < 300; vertex++)
+      digraph.createVertex(vertex);
+
+    for (var i = 0; i < 3_000; i++) {
+      try {
+        digraph.createEdge(random.nextInt(300), random.nextInt(300), random.nextInt(20));
+      } catch (IllegalArgumentException duplicateEdge) {
+        // ignore
+      }
+    }
+
+    for (var i = 0; i < 100; i++) {
+      final var beginning = random.nextInt(300);
+      final var destination = random.nextInt(300);
+
+      // when
+      final var dijkstraPath = DijkstraAlgorithm.findPath(new HashSet<>(), digraph, beginning, destination, VertexQueueType.PRIORITY_QUEUE);
+      final var dijkstraIndexedHeapPath = DijkstraAlgorithm.findPath(new HashSet<>(), digraph, beginning, destination, VertexQueueType.INDEXED_HEAP);
+      final var aStarIndexedHeapPath = AStarAlgorithm.findPath(new HashSet<>(), digraph, beginning, destination, vertex -> 0, VertexQueueType.INDEXED_HEAP);
+
+      // then the paths may differ (if there is more than one shortest path), but their costs may not
+      Assert.assertEquals(cost(dijkstraPath), cost(dijkstraIndexedHeapPath));
+      Assert.assertEquals(cost(dijkstraPath), cost(aStarIndexedHeapPath));
+    }
+  }
+
+  @Test
+  public void findPathOnGridWithIndexedHeapThenSameSolutionAsWithPriorityQueue() {
+
+    // given
+    final var problem =
+      """
+      ····················
+      ····················
+      ······■■■■■■■■■■····
+      ······■·············
+      ··B···■····D········
+      ······■·············
+      ······■■■■■■■■■■····
+      ····················
+      ····················
+      """;
+
+    // when
+    final var priorityQueueSolution = computeSolution(null, problem, GridBasedAStarAlgorithm::findPath, true);
+    final var indexedHeapSolution = computeSolution(
+      null,
+      problem,
+      (exploredVertices, digraph, beginning, destination) ->
+        GridBasedAStarAlgorithm.findPath(exploredVertices, digraph, beginning, destination, VertexQueueType.INDEXED_HEAP),
+      true
+    );
+
+    // then
+    Assert.assertEquals(19, indexedHeapSolution.path().size());
+    Assert.assertEquals(cost(priorityQueueSolution.path()), cost(indexedHeapSolution.path()));
+  }
+
+  private static <VERTEX> Integer cost(List<Digraph.Edge<VERTEX>> path) {
+    return path == null
+      ? null
+      : path.stream().mapToInt(Digraph.Edge::weight).sum();
+  }
+
+}
@@ -0,0 +1,148 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pl.beben.datastructure.AhoCorasickAutomaton.Match;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class AhoCorasickAutomatonTest {
+
+  private AhoCorasickAutomaton createTestAutomaton() {
+    final var trie = new Trie();
+
+    trie.addWord("he");
+    trie.addWord("she");
+    trie.addWord("his");
+    trie.addWord("hers");
+
+    return AhoCorasickAutomaton.from(trie);
+  }
+
+  @Test
+  public void findAllThenOverlappingMatchesAreFound() {
+
+    // given
+    final var automaton = createTestAutomaton();
+
+    // when
+    final var matches = automaton.findAll("ushers");
+
+    // then
+    Assert.assertEquals(
+      Arrays.asList(new Match(1, "she"), new Match(2, "he"), new Match(2, "hers")),
+      matches
+    );
+  }
+
+  @Test
+  public void findAllThenFailureLinksAreFollowed() {
+
+    // given
+    final var automaton = createTestAutomaton();
+
+    // then after a mismatch the automaton carries on from the longest suffix read so far, instead of going back in the text
+    Assert.assertEquals(Arrays.asList(new Match(1, "his")), automaton.findAll("hhis"));
+    Assert.assertEquals(Arrays.asList(new Match(2, "he"), new Match(4, "his")), automaton.findAll("shhehis"));
+    Assert.assertEquals(Arrays.asList(), automaton.findAll("xyz"));
+    Assert.assertEquals(Arrays.asList(), automaton.findAll(""));
+  }
+
+  @Test
+  public void findAllThenTestStructure() {
+
+    // given
+    final var automaton = createTestAutomaton();
+
+    // then states are numbered in level order, with children sorted:
+    // 0: root, 1: h, 2: s, 3: he, 4: hi, 5: sh, 6: her, 7: his, 8: she, 9: hers
+    Assert.assertEquals("\0hseihrses", new String(automaton.characters));
+    // "she" fails over to "he", which is a word
+    Assert.assertEquals(3, automaton.failureLinks[8]);
+    Assert.assertEquals(3, automaton.outputLinks[8]);
+    // "his" fails over to "s", which is not a word - and there is no shorter suffix that is
+    Assert.assertEquals(2, automaton.failureLinks[7]);
+    Assert.assertEquals(-1, automaton.outputLinks[7]);
+  }
+
+  @Test
+  public void findAllWithSupplementaryCharactersThenWordsAreReportedIntact() {
+
+    // given words made of characters outside of the BMP (each one is a surrogate pair)
+    final var trie = new Trie();
+    trie.addWord("😀😀");
+    trie.addWord("a🐕b🐈");
+    final var automaton = AhoCorasickAutomaton.from(trie);
+
+    // when
+    final var matches = automaton.findAll("x😀😀😀a🐕b🐈");
+
+    // then
+    Assert.assertEquals(
+      Arrays.asList(new Match(1, "😀😀"), new Match(3, "😀😀"), new Match(7, "a🐕b🐈")),
+      matches
+    );
+  }
+
+  @Test
+  public void searchReaderThenMatchesSpanningChunksAreFound() throws IOException {
+
+    // given
+    final var trie = new Trie();
+    trie.addWord("needle");
+    final var automaton = AhoCorasickAutomaton.from(trie);
+
+    // when the text is longer than a single chunk, and the needle is split between the first and the second one
+    final var text = "x".repeat(8190) + "needle" + "x".repeat(10_000) + "needle";
+    final var matches = new ArrayList<Match>();
+    automaton.search(new StringReader(text), matches::add);
+
+    // then
+    Assert.assertEquals(Arrays.asList(new Match(8190, "needle"), new Match(18_196, "needle")), matches);
+  }
+
+  @Test
+  public void searchRandomTextThenMatchesBruteForce() {
+
+    // given
+    final var random = new Random(0);
+    final var trie = new Trie();
+    final var words = new HashSet<String>();
+
+    for (var i = 0; i < 200; i++) {
+      final var word = randomText(random, 1 + random.nextInt(5));
+      trie.addWord(word);
+      words.add(word);
+    }
+
+    final var automaton = AhoCorasickAutomaton.from(trie);
+    final var text = randomText(random, 10_000);
+
+    // when
+    final var actualMatches = new HashSet<>(automaton.findAll(text));
+
+    // then
+    Assert.assertEquals(findAllBruteForce(words, text), actualMatches);
+  }
+
+  private static Set<Match> findAllBruteForce(Set<String> words, String text) {
+    final var matches = new HashSet<Match>();
+    for (final var word : words)
+      for (var start = text.indexOf(word); start != -1; start = text.indexOf(word, start + 1))
+        matches.add(new Match(start, word));
+    return matches;
+  }
+
+  private static String randomText(Random random, int length) {
+    final var text = new StringBuilder(length);
+    for (var i = 0; i < length; i++)
+      text.append((char) ('a' + random.nextInt(3)));
+    return text.toString();
+  }
+
+}
@@ -0,0 +1,139 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class AvlTreeTest {
+
+  @Test
+  public void addInAscendingOrderThenTreeIsBalanced() {
+
+    // given values that would turn BinarySearchTree into a linked list
+    final var tree = new AvlTree<Integer>();
+    for (var i = 1; i <= 7; i++)
+      tree.add(i);
+
+    // then tree has the following structure
+    //          4
+    //      2       6
+    //    1   3   5   7
+    Assert.assertEquals(3, tree.height());
+    Assert.assertEquals(4, (int) tree.rootNode.value);
+    Assert.assertEquals(2, (int) tree.rootNode.left.value);
+    Assert.assertEquals(6, (int) tree.rootNode.right.value);
+    Assert.assertEquals(1, (int) tree.rootNode.left.left.value);
+    Assert.assertEquals(3, (int) tree.rootNode.left.right.value);
+    Assert.assertEquals(5, (int) tree.rootNode.right.left.value);
+    Assert.assertEquals(7, (int) tree.rootNode.right.right.value);
+  }
+
+  @Test
+  public void addLeftRightCaseThenTreeIsBalanced() {
+
+    // given
+    final var tree = new AvlTree<Integer>();
+    tree.add(3);
+    tree.add(1);
+    // when
+    tree.add(2);
+
+    // then tree has the following structure
+    //      2
+    //    1   3
+    Assert.assertEquals(2, (int) tree.rootNode.value);
+    Assert.assertEquals(1, (int) tree.rootNode.left.value);
+    Assert.assertEquals(3, (int) tree.rootNode.right.value);
+  }
+
+  @Test
+  public void addManySortedThenHeightIsLogarithmic() {
+
+    // given
+    final var tree = new AvlTree<Integer>();
+    // when
+    for (var i = 0; i < 100_000; i++)
+      tree.add(i);
+    // then AVL tree's height is at most ~1.44 * log2(n)
+    Assert.assertTrue(tree.height() <= 1.44 * (Math.log(100_000) / Math.log(2)) + 1);
+    Assert.assertTrue(tree.contains(99_999));
+  }
+
+  @Test
+  public void addRandomlyThenForEachInOrder() {
+
+    // given
+    final var tree = new AvlTree<Integer>();
+    Arrays.asList(5, 3, 1, 2, 8, 7, 9).forEach(tree::add);
+
+    // when
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.forEach(actualIterationOrder::add);
+
+    // then
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), actualIterationOrder);
+  }
+
+  @Test
+  public void addThenRemoveNonexistentElement() {
+
+    // given
+    final var tree = new AvlTree<Integer>();
+    tree.add(5);
+
+    // then
+    Assert.assertFalse(tree.remove(8));
+    Assert.assertFalse(tree.remove(null));
+    Assert.assertTrue(tree.contains(5));
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenStaysBalancedAndOrdered() {
+
+    // given
+    final var random = new Random(42);
+    final var tree = new AvlTree<Integer>();
+    final var expectedValueToCount = new TreeMap<Integer, Integer>();
+
+    // when
+    for (var i = 0; i < 10_000; i++) {
+      final var value = random.nextInt(1_000);
+      if (random.nextInt(3) > 0) {
+        tree.add(value);
+        expectedValueToCount.merge(value, 1, Integer::sum);
+      } else {
+        final var isPresent = expectedValueToCount.containsKey(value);
+        Assert.assertEquals(isPresent, tree.remove(value));
+        if (isPresent)
+          expectedValueToCount.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+      }
+      assertIsBalanced(tree.rootNode);
+    }
+
+    // then
+    final var expectedIterationOrder = new ArrayList<Integer>();
+    expectedValueToCount.forEach((value, count) -> expectedIterationOrder.addAll(Collections.nCopies(count, value)));
+
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.forEach(actualIterationOrder::add);
+
+    Assert.assertEquals(expectedIterationOrder, actualIterationOrder);
+  }
+
+  private static int assertIsBalanced(AvlTree.Node<Integer> node) {
+    if (node == null)
+      return 0;
+
+    final var leftHeight = assertIsBalanced(node.left);
+    final var rightHeight = assertIsBalanced(node.right);
+
+    Assert.assertTrue("Node " + node.value + " is not balanced", Math.abs(leftHeight - rightHeight) <= 1);
+    Assert.assertEquals(1 + Math.max(leftHeight, rightHeight), node.height);
+    return node.height;
+  }
+
+}
@@ -0,0 +1,123 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class BPlusTreeTest {
+
+  @Test
+  public void addThenValidateStructure() {
+
+    // given
+    final var tree = new BPlusTree<Integer>(4);
+
+    // when
+    for (var value = 10; value <= 70; value += 10)
+      tree.add(value);
+
+    // then tree has the following structure
+    //               [ 30 | 50 ]
+    //             /      |      \
+    //   [10 | 20] → [30 | 40] → [50 | 60 | 70]
+    final var root = (BPlusTree.InnerNode) tree.rootNode;
+    Assert.assertEquals(2, root.count);
+    Assert.assertEquals(30, root.keys[0]);
+    Assert.assertEquals(50, root.keys[1]);
+
+    final var firstLeaf = (BPlusTree.LeafNode) root.children[0];
+    Assert.assertEquals(2, firstLeaf.count);
+    Assert.assertSame(root.children[1], firstLeaf.next);
+    Assert.assertSame(root.children[2], firstLeaf.next.next);
+    Assert.assertEquals(3, firstLeaf.next.next.count);
+    Assert.assertNull(firstLeaf.next.next.next);
+  }
+
+  @Test
+  public void addThenContains() {
+
+    // given
+    final var tree = new BPlusTree<Integer>(4);
+    Arrays.asList(5, 3, 3, 1, 2, 8, 7, 9).forEach(tree::add);
+
+    // then
+    Assert.assertEquals(7, tree.size());
+    Assert.assertFalse(tree.contains(0));
+    Assert.assertTrue(tree.contains(1));
+    Assert.assertTrue(tree.contains(3));
+    Assert.assertTrue(tree.contains(9));
+    Assert.assertFalse(tree.contains(10));
+    Assert.assertFalse(tree.contains(null));
+  }
+
+  @Test
+  public void addThenRangeForEach() {
+
+    // given
+    final var tree = new BPlusTree<Integer>(4);
+    for (var value = 0; value < 100; value++)
+      tree.add(value);
+
+    // when
+    final var actualValues = new ArrayList<Integer>();
+    tree.rangeForEach(42, 47, actualValues::add);
+
+    // then
+    Assert.assertEquals(Arrays.asList(42, 43, 44, 45, 46, 47), actualValues);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeTreeSet() {
+    for (final var fanout : new int[] { 4, 5, 32 }) {
+
+      // given
+      final var random = new Random(42);
+      final var tree = new BPlusTree<Integer>(fanout);
+      final var expectedValues = new TreeSet<Integer>();
+
+      // when
+      for (var i = 0; i < 20_000; i++) {
+        final var value = random.nextInt(2_000);
+        if (random.nextBoolean()) {
+          tree.add(value);
+          expectedValues.add(value);
+        } else {
+          Assert.assertEquals(expectedValues.remove(value), tree.remove(value));
+        }
+      }
+
+      // then
+      Assert.assertEquals(expectedValues.size(), tree.size());
+
+      final var actualValues = new ArrayList<Integer>();
+      tree.forEach(actualValues::add);
+      Assert.assertEquals(new ArrayList<>(expectedValues), actualValues);
+
+      final var actualRange = new ArrayList<Integer>();
+      tree.rangeForEach(500, 1_500, actualRange::add);
+      Assert.assertEquals(new ArrayList<>(expectedValues.subSet(500, true, 1_500, true)), actualRange);
+    }
+  }
+
+  @Test
+  public void addThenRemoveEverythingThenTreeShrinksToSingleLeaf() {
+
+    // given
+    final var tree = new BPlusTree<Integer>(4);
+    for (var value = 0; value < 1_000; value++)
+      tree.add(value);
+
+    // when
+    for (var value = 0; value < 1_000; value++)
+      Assert.assertTrue(tree.remove(value));
+
+    // then
+    Assert.assertEquals(0, tree.size());
+    Assert.assertTrue(tree.rootNode instanceof BPlusTree.LeafNode);
+    Assert.assertEquals(0, tree.rootNode.count);
+  }
+
+}
@@ -4,6 +4,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
 
 public class BinarySearchTreeTest {
 
@@ -317,4 +319,370 @@ public class BinarySearchTreeTest {
     Assert.assertNull(tree.rootNode.right.right);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void addThenRemoveNodeWhoseSuccessorHasRightSubtree() {
+
+    // given tree of the following structure
+    //      5
+    //    3       9
+    //          6
+    //            7
+    //              8
+    final var tree = new BinarySearchTree<Integer>();
+    tree.add(5);
+    tree.add(3);
+    tree.add(9);
+    tree.add(6);
+    tree.add(7);
+    tree.add(8);
+
+    // when
+    final var elementHasBeenRemoved = tree.remove(5);
+
+    // then successor's (6) right subtree has taken its place
+    Assert.assertTrue(elementHasBeenRemoved);
+    Assert.assertEquals(6, (int) tree.rootNode.value);
+    Assert.assertEquals(7, (int) tree.rootNode.right.left.value);
+    Assert.assertTrue(tree.contains(7));
+    Assert.assertTrue(tree.contains(8));
+    Assert.assertFalse(tree.contains(5));
+  }
+
+  @Test
+  public void addThenRemoveNodeWhoseSuccessorIsItsRightChild() {
+
+    // given tree of the following structure
+    //      5
+    //    3   7
+    //          8
+    final var tree = new BinarySearchTree<Integer>();
+    tree.add(5);
+    tree.add(3);
+    tree.add(7);
+    tree.add(8);
+
+    // when
+    tree.remove(5);
+
+    // then
+    Assert.assertEquals(7, (int) tree.rootNode.value);
+    Assert.assertEquals(3, (int) tree.rootNode.left.value);
+    Assert.assertEquals(8, (int) tree.rootNode.right.value);
+  }
+
+  @Test
+  public void addManyInAscendingOrderThenDoesNotOverflowTheStack() {
+
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    final var valueCount = 20_000;
+
+    // when
+    for (var i = 0; i < valueCount; i++)
+      tree.add(i);
+
+    // then
+    Assert.assertTrue(tree.contains(valueCount - 1));
+
+    final var iteratedValues = new ArrayList<Integer>();
+    tree.forEach(iteratedValues::add);
+    Assert.assertEquals(valueCount, iteratedValues.size());
+
+    Assert.assertTrue(tree.remove(valueCount - 1));
+    Assert.assertFalse(tree.contains(valueCount - 1));
+  }
+
+  @Test
+  public void forEachThrowsThenTreeIsRestored() {
+
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    Arrays.asList(5, 3, 1, 2, 8, 7, 9).forEach(tree::add);
+
+    // when
+    try {
+      tree.forEach(value -> {
+        if (value == 3)
+          throw new IllegalStateException();
+      });
+      Assert.fail();
+    } catch (IllegalStateException expected) {
+    }
+
+    // then
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.forEach(actualIterationOrder::add);
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), actualIterationOrder);
+    Assert.assertNull(tree.rootNode.left.left.right.right);
+  }
+
+  @Test
+  public void forEachThenConsumerCanReadTheTree() {
+
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    Arrays.asList(5, 3, 1, 2, 8, 7, 9).forEach(tree::add);
+
+    // when
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.forEach(value -> {
+      // absent values as well, which walk down to a leaf
+      Assert.assertFalse(tree.contains(value * 10));
+      Assert.assertTrue(tree.contains(value));
+      Assert.assertEquals(value, tree.floor(value));
+      Assert.assertEquals(Integer.valueOf(9), tree.floor(100));
+      actualIterationOrder.add(value);
+    });
+
+    // then
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), actualIterationOrder);
+  }
+
+  @Test
+  public void addThenMinMaxFloorCeiling() {
+
+    // given tree of the following structure
+    //          50
+    //      30       80
+    //  10         70   90
+    final var tree = new BinarySearchTree<Integer>();
+    Assert.assertNull(tree.min());
+    Assert.assertNull(tree.max());
+    Arrays.asList(50, 30, 10, 80, 70, 90).forEach(tree::add);
+
+    // then
+    Assert.assertEquals(10, (int) tree.min());
+    Assert.assertEquals(90, (int) tree.max());
+
+    Assert.assertNull(tree.floor(5));
+    Assert.assertEquals(10, (int) tree.floor(10));
+    Assert.assertEquals(30, (int) tree.floor(49));
+    Assert.assertEquals(50, (int) tree.floor(69));
+    Assert.assertEquals(90, (int) tree.floor(100));
+
+    Assert.assertEquals(10, (int) tree.ceiling(5));
+    Assert.assertEquals(30, (int) tree.ceiling(11));
+    Assert.assertEquals(70, (int) tree.ceiling(51));
+    Assert.assertEquals(90, (int) tree.ceiling(90));
+    Assert.assertNull(tree.ceiling(91));
+  }
+
+  @Test
+  public void addThenRangeForEach() {
+
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    Arrays.asList(50, 30, 10, 40, 80, 70, 90, 60).forEach(tree::add);
+
+    // when
+    final var actualValues = new ArrayList<Integer>();
+    tree.rangeForEach(35, 70, actualValues::add);
+
+    // then
+    Assert.assertEquals(Arrays.asList(40, 50, 60, 70), actualValues);
+  }
+
+  @Test
+  public void addThenIterateLazily() {
+
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    Arrays.asList(5, 3, 1, 2, 8, 7, 9).forEach(tree::add);
+
+    // when
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.iterator().forEachRemaining(actualIterationOrder::add);
+
+    // then
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), actualIterationOrder);
+
+    // when
+    final var rangeIterator = tree.iterator(4, 6);
+    // then
+    Assert.assertTrue(rangeIterator.hasNext());
+    Assert.assertEquals(5, (int) rangeIterator.next());
+    Assert.assertFalse(rangeIterator.hasNext());
+    Assert.assertFalse(tree.iterator(10, 20).hasNext());
+  }
+
+  @Test
+  public void addThenRankAndSelect() {
+
+    // given tree of the following structure
+    //          50
+    //      30       80
+    //  10         70   90
+    final var tree = new BinarySearchTree<Integer>();
+    Arrays.asList(50, 30, 10, 80, 70, 90).forEach(tree::add);
+
+    // then
+    Assert.assertEquals(6, tree.size());
+    Assert.assertEquals(6, tree.rootNode.size);
+    Assert.assertEquals(3, tree.rootNode.right.size);
+
+    Assert.assertEquals(0, tree.rank(5));
+    Assert.assertEquals(0, tree.rank(10));
+    Assert.assertEquals(2, tree.rank(50));
+    Assert.assertEquals(3, tree.rank(60));
+    Assert.assertEquals(6, tree.rank(100));
+
+    Assert.assertEquals(10, (int) tree.select(0));
+    Assert.assertEquals(50, (int) tree.select(2));
+    Assert.assertEquals(90, (int) tree.select(5));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void selectOutOfBoundsThenThrowsException() {
+    // given
+    final var tree = new BinarySearchTree<Integer>();
+    tree.add(1);
+    // when
+    tree.select(1);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenRankAndSelectMatchSortedList() {
+
+    // given
+    final var random = new Random(42);
+    final var tree = new BinarySearchTree<Integer>();
+    final var sortedValues = new ArrayList<Integer>();
+
+    // when
+    for (var i = 0; i < 2_000; i++) {
+      final Integer value = random.nextInt(200);
+      if (random.nextInt(3) > 0) {
+        tree.add(value);
+        sortedValues.add(value);
+      } else {
+        Assert.assertEquals(sortedValues.remove(value), tree.remove(value));
+      }
+    }
+    Collections.sort(sortedValues);
+
+    // then
+    Assert.assertEquals(sortedValues.size(), tree.size());
+    for (var index = 0; index < sortedValues.size(); index++)
+      Assert.assertEquals(sortedValues.get(index), tree.select(index));
+    for (var value = -1; value <= 200; value++) {
+      var expectedRank = 0;
+      while (expectedRank < sortedValues.size() && sortedValues.get(expectedRank) < value)
+        expectedRank++;
+      Assert.assertEquals(expectedRank, tree.rank(value));
+    }
+  }
+
+  @Test
+  public void fromSortedThenTreeIsPerfectlyBalanced() {
+
+    // when
+    final var tree = BinarySearchTree.fromSorted(new Integer[] { 1, 2, 3, 4, 5, 6, 7 });
+
+    // then tree has the following structure
+    //          4
+    //      2       6
+    //    1   3   5   7
+    Assert.assertEquals(4, (int) tree.rootNode.value);
+    Assert.assertEquals(2, (int) tree.rootNode.left.value);
+    Assert.assertEquals(6, (int) tree.rootNode.right.value);
+    Assert.assertEquals(1, (int) tree.rootNode.left.left.value);
+    Assert.assertEquals(3, (int) tree.rootNode.left.right.value);
+    Assert.assertEquals(5, (int) tree.rootNode.right.left.value);
+    Assert.assertEquals(7, (int) tree.rootNode.right.right.value);
+    Assert.assertEquals(7, tree.size());
+    Assert.assertEquals(3, tree.rootNode.left.size);
+  }
+
+  @Test
+  public void fromSortedWithDuplicatesThenEqualValuesAreOnTheRight() {
+
+    // when
+    final var tree = BinarySearchTree.fromSorted(Arrays.asList(1, 2, 2, 2, 3));
+
+    // then
+    Assert.assertEquals(2, (int) tree.rootNode.value);
+    Assert.assertEquals(1, (int) tree.rootNode.left.value);
+    Assert.assertNull(tree.rootNode.left.right);
+    Assert.assertEquals(1, tree.rank(2));
+    Assert.assertEquals(4, tree.rank(3));
+
+    // when
+    tree.remove(2);
+    tree.remove(2);
+    tree.remove(2);
+    // then
+    Assert.assertFalse(tree.contains(2));
+    Assert.assertEquals(2, tree.size());
+  }
+
+  @Test
+  public void fromSortedWithLongRunOfEqualValuesThenDoesNotOverflowTheStack() {
+
+    // given
+    final var values = new ArrayList<Integer>();
+    values.add(1);
+    values.addAll(Collections.nCopies(100_000, 7));
+    values.add(9);
+
+    // when
+    final var tree = BinarySearchTree.fromSorted(values);
+
+    // then
+    Assert.assertEquals(100_002, tree.size());
+    Assert.assertEquals(1, tree.rank(7));
+    Assert.assertEquals(100_001, tree.rank(9));
+    Assert.assertEquals(7, (int) tree.select(50_000));
+    Assert.assertTrue(tree.contains(9));
+
+    // when
+    tree.rebalance();
+    tree.remove(7);
+
+    // then
+    Assert.assertEquals(100_001, tree.size());
+    Assert.assertEquals(100_000, tree.rank(9));
+
+    values.remove(Integer.valueOf(7));
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.iterator().forEachRemaining(actualIterationOrder::add);
+    Assert.assertEquals(values, actualIterationOrder);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromUnsortedThenThrowsException() {
+    BinarySearchTree.fromSorted(Arrays.asList(1, 3, 2));
+  }
+
+  @Test
+  public void addInAscendingOrderThenRebalance() {
+
+    // given tree of the following structure
+    //  1
+    //    2
+    //      ...
+    //        15
+    final var tree = new BinarySearchTree<Integer>();
+    for (var value = 1; value <= 15; value++)
+      tree.add(value);
+    final var nodeOfSeven = tree.rootNode.right.right.right.right.right.right;
+
+    // when
+    tree.rebalance();
+
+    // then
+    Assert.assertEquals(8, (int) tree.rootNode.value);
+    Assert.assertEquals(4, (int) tree.rootNode.left.value);
+    Assert.assertEquals(12, (int) tree.rootNode.right.value);
+    Assert.assertEquals(15, (int) tree.rootNode.right.right.right.value);
+    Assert.assertSame(nodeOfSeven, tree.rootNode.left.right.right);
+    Assert.assertEquals(15, tree.size());
+    Assert.assertEquals(7, (int) tree.select(6));
+
+    final var actualIterationOrder = new ArrayList<Integer>();
+    tree.forEach(actualIterationOrder::add);
+    Assert.assertEquals(15, actualIterationOrder.size());
+    Assert.assertEquals(1, (int) actualIterationOrder.get(0));
+    Assert.assertEquals(15, (int) actualIterationOrder.get(14));
+  }
+
+}
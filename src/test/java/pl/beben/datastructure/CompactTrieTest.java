@@ -0,0 +1,149 @@
+package pl.beben.datastructure;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.Random;
+
+public class CompactTrieTest {
+
+  private Trie createTestTrie() {
+    // see TrieTest#createTestTrie
+    final var trie = new Trie();
+
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("cancer");
+    trie.addWord("dog");
+
+    return trie;
+  }
+
+  @Test
+  public void fromTrieThenContains() {
+
+    // given
+    final var compactTrie = CompactTrie.from(createTestTrie());
+
+    // then
+    containsWord: {
+      Assert.assertTrue(compactTrie.containsWord("car"));
+      Assert.assertTrue(compactTrie.containsWord("card"));
+      Assert.assertTrue(compactTrie.containsWord("cancer"));
+      Assert.assertTrue(compactTrie.containsWord("dog"));
+
+      Assert.assertFalse(compactTrie.containsWord(""));
+      Assert.assertFalse(compactTrie.containsWord("ca"));
+      Assert.assertFalse(compactTrie.containsWord("can"));
+      Assert.assertFalse(compactTrie.containsWord("door"));
+      Assert.assertFalse(compactTrie.containsWord("dogs"));
+    }
+
+    // then
+    contains: {
+      Assert.assertTrue(compactTrie.contains(""));
+      Assert.assertTrue(compactTrie.contains("ca"));
+      Assert.assertTrue(compactTrie.contains("car"));
+      Assert.assertTrue(compactTrie.contains("can"));
+      Assert.assertTrue(compactTrie.contains("cancer"));
+      Assert.assertTrue(compactTrie.contains("do"));
+
+      Assert.assertFalse(compactTrie.contains("door"));
+      Assert.assertFalse(compactTrie.contains("cani"));
+      Assert.assertFalse(compactTrie.contains("a"));
+    }
+  }
+
+  @Test
+  public void fromTrieThenTestStructure() {
+
+    // given
+    final var trie = new Trie();
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("dog");
+
+    // when
+    final var compactTrie = CompactTrie.from(trie);
+
+    // then nodes are numbered in level order, with children sorted (see CompactTrie's javadoc)
+    Assert.assertEquals(8, compactTrie.nodeCount());
+    Assert.assertEquals("\0cdaorgd", new String(compactTrie.characters));
+    Assert.assertArrayEquals(new int[] { 1, 3, 4, 5, 6, 7, 8, 8, 8 }, compactTrie.firstChildren);
+    Assert.assertEquals("{5, 6, 7}", compactTrie.endOfWordNodes.toString());
+  }
+
+  @Test
+  public void fromTrieThenSearchWordsStartingWithPrefix() {
+
+    // given
+    final var compactTrie = CompactTrie.from(createTestTrie());
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), compactTrie.searchWordsStartingWith("ca"));
+    Assert.assertEquals(ImmutableSet.of("car", "card"), compactTrie.searchWordsStartingWith("car"));
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer", "dog"), compactTrie.searchWordsStartingWith(""));
+    Assert.assertEquals(ImmutableSet.of(), compactTrie.searchWordsStartingWith("x"));
+  }
+
+  @Test
+  public void fromTrieThenModifyTrieThenCompactTrieIsUnchanged() {
+
+    // given
+    final var trie = createTestTrie();
+    final var compactTrie = CompactTrie.from(trie);
+
+    // when
+    trie.removeWord("car");
+    trie.addWord("cat");
+
+    // then
+    Assert.assertTrue(compactTrie.containsWord("car"));
+    Assert.assertFalse(compactTrie.contains("cat"));
+  }
+
+  @Test
+  public void fromRandomTrieThenBehavesLikeTrie() {
+
+    // given
+    final var random = new Random(0);
+    final var trie = new Trie();
+    final var words = new HashSet<String>();
+
+    for (var i = 0; i < 5_000; i++) {
+      final var word = randomWord(random);
+      trie.addWord(word);
+      words.add(word);
+    }
+
+    // when
+    final var compactTrie = CompactTrie.from(trie);
+
+    // then
+    for (final var word : words)
+      Assert.assertTrue(compactTrie.containsWord(word));
+
+    for (var i = 0; i < 5_000; i++) {
+      final var string = randomWord(random);
+      Assert.assertEquals(trie.containsWord(string), compactTrie.containsWord(string));
+      Assert.assertEquals(trie.contains(string), compactTrie.contains(string));
+    }
+
+    for (final var prefix : ImmutableSet.of("a", "ab", "ą", "ba"))
+      if (trie.contains(prefix))
+        Assert.assertEquals(trie.iterativelySearchWordsStartingWith(prefix), compactTrie.searchWordsStartingWith(prefix));
+  }
+
+  // alphabet includes a non-ASCII character, to make sure the chars are not truncated anywhere
+  private static String randomWord(Random random) {
+    final var alphabet = "abcą";
+    final var length = 1 + random.nextInt(8);
+
+    final var word = new StringBuilder(length);
+    for (var i = 0; i < length; i++)
+      word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    return word.toString();
+  }
+
+}
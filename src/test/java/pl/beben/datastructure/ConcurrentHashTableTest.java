@@ -0,0 +1,86 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentHashTableTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final int KEYS_PER_THREAD = 10_000;
+
+  @Test
+  public void addThenGetAndRemove() {
+    // given
+    final var hashTable = new ConcurrentHashTable<Integer, String>(2, 2);
+    // when
+    hashTable.add(1, "a");
+    hashTable.add(2, "b");
+    hashTable.add(3, "c");
+    hashTable.add(1, "d");
+    // then
+    Assert.assertEquals(3, hashTable.size());
+    Assert.assertEquals("d", hashTable.get(1));
+    Assert.assertEquals("e", hashTable.getOrDefault(4, "e"));
+    Assert.assertTrue(hashTable.remove(2));
+    Assert.assertFalse(hashTable.remove(2));
+    Assert.assertFalse(hashTable.containsKey(2));
+    Assert.assertTrue(hashTable.containsKey(3));
+    Assert.assertEquals(2, hashTable.size());
+  }
+
+  @Test
+  public void removeFromTheMiddleOfChainThenOtherNodesAreKept() {
+    // given
+    final var hashTable = new ConcurrentHashTable<Integer, String>(1024, 1);
+    // 0, 1024 and 2048 all land in bucket 0
+    hashTable.add(0, "a");
+    hashTable.add(1024, "b");
+    hashTable.add(2048, "c");
+    // when
+    hashTable.remove(1024);
+    // then
+    Assert.assertEquals("a", hashTable.get(0));
+    Assert.assertNull(hashTable.get(1024));
+    Assert.assertEquals("c", hashTable.get(2048));
+  }
+
+  @Test
+  public void addAndReadConcurrentlyThenNothingIsLost() throws Exception {
+    // given
+    final var hashTable = new ConcurrentHashTable<Integer, Integer>(2, 4);
+    final var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+    try {
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (var thread = 0; thread < THREAD_COUNT; thread++) {
+        final var firstKey = thread * KEYS_PER_THREAD;
+        tasks.add(() -> {
+          for (var key = firstKey; key < firstKey + KEYS_PER_THREAD; key++) {
+            hashTable.add(key, key);
+            // reads are racing with other threads' writes and resizes
+            Assert.assertEquals(Integer.valueOf(key), hashTable.get(key));
+            if (key % 2 == 0)
+              Assert.assertTrue(hashTable.remove(key));
+          }
+          return null;
+        });
+      }
+
+      // when
+      for (final Future<Void> future : executor.invokeAll(tasks))
+        future.get();
+    } finally {
+      executor.shutdown();
+    }
+
+    // then
+    Assert.assertEquals(THREAD_COUNT * KEYS_PER_THREAD / 2, hashTable.size());
+    for (var key = 0; key < THREAD_COUNT * KEYS_PER_THREAD; key++)
+      Assert.assertEquals(key % 2 == 1, hashTable.containsKey(key));
+  }
+
+}
@@ -0,0 +1,187 @@
+package pl.beben.datastructure;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentTrieTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final int WORDS_PER_THREAD = 2_000;
+
+  private ConcurrentTrie createTestTrie() {
+    // see TrieTest#createTestTrie
+    final var trie = new ConcurrentTrie();
+
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("cancer");
+    trie.addWord("dog");
+
+    return trie;
+  }
+
+  @Test
+  public void addThenContains() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // then
+    containsWord: {
+      Assert.assertTrue(trie.containsWord("car"));
+      Assert.assertTrue(trie.containsWord("card"));
+      Assert.assertTrue(trie.containsWord("cancer"));
+      Assert.assertTrue(trie.containsWord("dog"));
+
+      Assert.assertFalse(trie.containsWord("ca"));
+      Assert.assertFalse(trie.containsWord("can"));
+      Assert.assertFalse(trie.containsWord("door"));
+      Assert.assertFalse(trie.containsWord("dogs"));
+    }
+
+    // then
+    contains: {
+      Assert.assertTrue(trie.contains("ca"));
+      Assert.assertTrue(trie.contains("can"));
+      Assert.assertTrue(trie.contains("do"));
+      Assert.assertTrue(trie.contains("dog"));
+
+      Assert.assertFalse(trie.contains("door"));
+      Assert.assertFalse(trie.contains("cani"));
+    }
+
+    Assert.assertFalse(trie.addWord("car"));
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), trie.searchWordsStartingWith("ca"));
+    Assert.assertEquals(ImmutableSet.of(), trie.searchWordsStartingWith("x"));
+  }
+
+  @Test
+  public void addThenRemove() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    Assert.assertTrue(trie.removeWord("car"));
+    Assert.assertFalse(trie.removeWord("car"));
+    Assert.assertFalse(trie.removeWord("ca"));
+
+    // then
+    Assert.assertFalse(trie.containsWord("car"));
+    Assert.assertTrue(trie.contains("car"));
+    Assert.assertTrue(trie.containsWord("card"));
+
+    // when
+    Assert.assertTrue(trie.removeWord("card"));
+
+    // then the nodes that are no longer needed are removed, but not the ones that are still a part of another word
+    Assert.assertFalse(trie.contains("car"));
+    Assert.assertTrue(trie.contains("ca"));
+    Assert.assertTrue(trie.containsWord("cancer"));
+  }
+
+  @Test
+  public void snapshotThenModificationsAreNotVisibleInTheOther() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    final var snapshot = trie.snapshot();
+    trie.removeWord("car");
+    trie.addWord("cat");
+    snapshot.addWord("cow");
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("card", "cancer", "cat", "dog"), trie.searchWordsStartingWith(""));
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer", "cow", "dog"), snapshot.searchWordsStartingWith(""));
+  }
+
+  @Test(timeout = 10_000)
+  public void addAndRemoveConcurrentlyThenNothingIsLost() throws Exception {
+
+    // given
+    final var trie = new ConcurrentTrie();
+    final var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+    try {
+      // every thread adds its own words (sharing prefixes with other threads' words), and removes every second one
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (var thread = 0; thread < THREAD_COUNT; thread++) {
+        final var threadId = thread;
+        tasks.add(() -> {
+          for (var i = 0; i < WORDS_PER_THREAD; i++) {
+            final var word = i + "-" + threadId;
+            Assert.assertTrue(trie.addWord(word));
+            Assert.assertTrue(trie.containsWord(word));
+            if (i % 2 == 0)
+              Assert.assertTrue(trie.removeWord(word));
+          }
+          return null;
+        });
+      }
+
+      // when
+      for (final Future<Void> future : executor.invokeAll(tasks))
+        future.get();
+
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // then
+    for (var thread = 0; thread < THREAD_COUNT; thread++)
+      for (var i = 0; i < WORDS_PER_THREAD; i++)
+        Assert.assertEquals(i % 2 != 0, trie.containsWord(i + "-" + thread));
+
+    Assert.assertEquals(THREAD_COUNT * WORDS_PER_THREAD / 2, trie.searchWordsStartingWith("").size());
+  }
+
+  @Test(timeout = 10_000)
+  public void readSnapshotsWhileWriterAddsThenEverySnapshotIsConsistent() throws Exception {
+
+    // given
+    final var trie = new ConcurrentTrie();
+    final var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+    try {
+      // the writer adds the words in order, so a snapshot containing the i-th one must contain every one before it as well
+      final var tasks = new ArrayList<Callable<Void>>();
+      tasks.add(() -> {
+        for (var i = 0; i < WORDS_PER_THREAD; i++)
+          trie.addWord("word" + i);
+        return null;
+      });
+
+      for (var reader = 1; reader < THREAD_COUNT; reader++) {
+        tasks.add(() -> {
+          var wordCount = 0;
+          while (wordCount < WORDS_PER_THREAD) {
+            final var snapshot = trie.snapshot();
+            wordCount = snapshot.searchWordsStartingWith("word").size();
+
+            for (var i = 0; i < WORDS_PER_THREAD; i++)
+              Assert.assertEquals(i < wordCount, snapshot.containsWord("word" + i));
+          }
+          return null;
+        });
+      }
+
+      // when
+      for (final Future<Void> future : executor.invokeAll(tasks))
+        future.get();
+
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // then
+    Assert.assertEquals(WORDS_PER_THREAD, trie.searchWordsStartingWith("word").size());
+  }
+
+}
@@ -0,0 +1,109 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.Random;
+
+public class CsrGraphTest {
+
+  @Test
+  public void fromDigraphThenEdgesAreGroupedByVertex() {
+
+    // given
+    final var digraph = new Digraph<String>();
+    digraph.createVertex("a");
+    digraph.createVertex("b");
+    digraph.createVertex("c");
+    digraph.createEdge("a", "b", 5);
+    digraph.createEdge("a", "c", 1);
+    digraph.createEdge("c", "b", 2);
+
+    // when
+    final var graph = CsrGraph.from(digraph);
+
+    // then
+    Assert.assertEquals(3, graph.vertexCount());
+    Assert.assertEquals(3, graph.edgeCount());
+
+    final var a = graph.idOf("a");
+    final var b = graph.idOf("b");
+    final var c = graph.idOf("c");
+
+    Assert.assertEquals("a", graph.vertexOf(a));
+    Assert.assertEquals(CsrGraph.NO_VERTEX, graph.idOf("d"));
+
+    Assert.assertEquals(2, graph.endEdge(a) - graph.firstEdge(a));
+    Assert.assertEquals(0, graph.endEdge(b) - graph.firstEdge(b));
+    Assert.assertEquals(1, graph.endEdge(c) - graph.firstEdge(c));
+
+    final var edge = graph.firstEdge(c);
+    Assert.assertEquals(b, graph.target(edge));
+    Assert.assertEquals(2, graph.weight(edge));
+    Assert.assertEquals(c, graph.source(edge));
+    Assert.assertEquals(new Digraph.Edge<>("c", "b", 2), graph.toEdge(edge));
+  }
+
+  @Test
+  public void fromDigraphThenVerticesOnlyReferencedByEdgesGetIds() {
+
+    // given no vertex is created explicitly
+    final var digraph = new Digraph<String>();
+    digraph.createEdge("a", "b", 1);
+
+    // when
+    final var graph = CsrGraph.from(digraph);
+
+    // then
+    Assert.assertEquals(2, graph.vertexCount());
+    Assert.assertNotEquals(CsrGraph.NO_VERTEX, graph.idOf("b"));
+    Assert.assertEquals(graph.idOf("b"), graph.target(graph.firstEdge(graph.idOf("a"))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromDigraphWithUnweightedEdgeThenThrowsException() {
+    // given
+    final var digraph = new Digraph<String>();
+    digraph.createEdge("a", "b");
+    // when
+    CsrGraph.from(digraph);
+  }
+
+  @Test
+  public void fromRandomDigraphThenContainsTheSameEdges() {
+
+    // given
+    final var random = new Random(0);
+    final var digraph = new Digraph<Integer>();
+
+    for (var vertex = 0; vertex < 200; vertex++)
+      digraph.createVertex(vertex);
+
+    for (var i = 0; i < 1_000; i++) {
+      try {
+        digraph.createEdge(random.nextInt(200), random.nextInt(200), random.nextInt(100));
+      } catch (IllegalArgumentException duplicateEdge) {
+        // ignore
+      }
+    }
+
+    final var expectedEdges = new HashSet<Digraph.Edge<Integer>>();
+    digraph.vertexToEdges.values().forEach(expectedEdges::addAll);
+
+    // when
+    final var graph = CsrGraph.from(digraph);
+
+    // then
+    final var actualEdges = new HashSet<Digraph.Edge<Integer>>();
+    for (var vertex = 0; vertex < graph.vertexCount(); vertex++) {
+      for (var edge = graph.firstEdge(vertex); edge < graph.endEdge(vertex); edge++) {
+        Assert.assertEquals(vertex, graph.source(edge));
+        actualEdges.add(new Digraph.Edge<>(graph.vertexOf(vertex), graph.vertexOf(graph.target(edge)), graph.weight(edge)));
+      }
+    }
+
+    Assert.assertEquals(expectedEdges.size(), graph.edgeCount());
+    Assert.assertEquals(expectedEdges, actualEdges);
+  }
+
+}
@@ -180,4 +180,94 @@ public class HashTableTest {
     Assert.assertEquals(1, hashTable.buckets[bucketIndex].size());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void overflowCapacityThenChainMembersHaveBeenRedistributed() {
+    // given
+    final var hashTable = new HashTable<Integer, String>(2);
+    hashTable.add(0, DUMMY_VALUE);
+    hashTable.add(2, DUMMY_VALUE); // same bucket as 0
+    // when
+    hashTable.add(1, DUMMY_VALUE);
+    // then
+    Assert.assertEquals(4, hashTable.buckets.length);
+    Assert.assertEquals(1, hashTable.buckets[hashTable.calculateBucketIndex(0)].size());
+    Assert.assertEquals(1, hashTable.buckets[hashTable.calculateBucketIndex(2)].size());
+    Assert.assertTrue(hashTable.containsKey(0));
+    Assert.assertTrue(hashTable.containsKey(1));
+    Assert.assertTrue(hashTable.containsKey(2));
+  }
+
+  @Test
+  public void addNegativeKeyThenContainsKey() {
+    // given
+    final var hashTable = new HashTable<Integer, String>();
+    // when
+    hashTable.add(-7, DUMMY_VALUE);
+    // then
+    Assert.assertTrue(hashTable.containsKey(-7));
+  }
+
+  @Test
+  public void lowerLoadFactorThenResizesEarlier() {
+    // given
+    final var hashTable = new HashTable<Integer, String>(4, 0.5f, HashTable.ResizeMode.ALL_AT_ONCE);
+    hashTable.add(1, DUMMY_VALUE);
+    hashTable.add(2, DUMMY_VALUE);
+    // then
+    Assert.assertEquals(4, hashTable.buckets.length);
+    // when
+    hashTable.add(3, DUMMY_VALUE);
+    // then
+    Assert.assertEquals(8, hashTable.buckets.length);
+  }
+
+  @Test
+  public void incrementalResizeThenMigratesFewBucketsPerOperation() {
+    // given
+    final var initialCapacity = 4 * HashTable.BUCKETS_MIGRATED_PER_OPERATION;
+    final var hashTable = new HashTable<Integer, String>(initialCapacity, 1.0f, HashTable.ResizeMode.INCREMENTAL);
+    for (var i = 0; i < initialCapacity; i++)
+      hashTable.add(i, DUMMY_VALUE);
+    Assert.assertNull(hashTable.previousBuckets);
+    // when
+    hashTable.add(initialCapacity, DUMMY_VALUE);
+    // then migration has started, but is not finished yet
+    Assert.assertEquals(2 * initialCapacity, hashTable.buckets.length);
+    Assert.assertNotNull(hashTable.previousBuckets);
+    for (var i = 0; i <= initialCapacity; i++)
+      Assert.assertTrue(hashTable.containsKey(i));
+    // then every operation has migrated a few buckets, so it's done by now
+    Assert.assertNull(hashTable.previousBuckets);
+    Assert.assertEquals(initialCapacity + 1, hashTable.size());
+  }
+
+  @Test
+  public void incrementalResizeThenAddAndRemoveMany() {
+    // given
+    final var hashTable = new HashTable<Integer, String>(2, 1.0f, HashTable.ResizeMode.INCREMENTAL);
+    // when
+    for (var i = 0; i < 10_000; i++)
+      hashTable.add(i, DUMMY_VALUE);
+    for (var i = 0; i < 10_000; i += 2)
+      Assert.assertTrue(hashTable.remove(i));
+    // then
+    Assert.assertEquals(5_000, hashTable.size());
+    for (var i = 0; i < 10_000; i++)
+      Assert.assertEquals(i % 2 == 1, hashTable.containsKey(i));
+  }
+
+  @Test
+  public void addThenGet() {
+    // given
+    final var hashTable = new HashTable<Integer, String>();
+    // when
+    hashTable.add(1, "a");
+    hashTable.add(11, "b");
+    // then
+    Assert.assertEquals("a", hashTable.get(1));
+    Assert.assertEquals("b", hashTable.get(11));
+    Assert.assertNull(hashTable.get(2));
+    Assert.assertEquals("c", hashTable.getOrDefault(2, "c"));
+  }
+
+}
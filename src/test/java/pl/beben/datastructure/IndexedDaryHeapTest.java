@@ -0,0 +1,141 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IndexedDaryHeapTest {
+
+  @Test
+  public void addThenPollInOrder() {
+
+    // given
+    final var heap = new IndexedDaryHeap<Integer>(3, Comparator.naturalOrder());
+
+    // when
+    for (final var element : new int[] { 7, 1, 9, 4, 2, 5, 6 })
+      heap.add(element);
+
+    // then
+    Assert.assertEquals(7, heap.size());
+    Assert.assertEquals(1, (int) heap.peek());
+
+    final var polledElements = new ArrayList<Integer>();
+    while (!heap.isEmpty())
+      polledElements.add(heap.poll());
+
+    Assert.assertEquals(Arrays.asList(1, 2, 4, 5, 6, 7, 9), polledElements);
+    Assert.assertNull(heap.poll());
+    Assert.assertNull(heap.peek());
+  }
+
+  @Test
+  public void decreaseKeyThenElementMovesTowardsTheRoot() {
+
+    // given priorities kept outside of the heap, the way pathfinding algorithms keep them
+    final var elementToPriority = new HashMap<String, Integer>();
+    final var heap = new IndexedDaryHeap<String>(Comparator.comparing(elementToPriority::get));
+
+    elementToPriority.put("a", 10);
+    elementToPriority.put("b", 20);
+    elementToPriority.put("c", 30);
+    heap.add("a");
+    heap.add("b");
+    heap.add("c");
+
+    // when
+    elementToPriority.put("c", 5);
+    heap.decreaseKey("c");
+
+    // then
+    Assert.assertEquals("c", heap.poll());
+    Assert.assertEquals("a", heap.poll());
+    Assert.assertEquals("b", heap.poll());
+  }
+
+  @Test
+  public void removeThenContains() {
+
+    // given
+    final var heap = new IndexedDaryHeap<Integer>(2, Comparator.naturalOrder());
+    for (var element = 0; element < 10; element++)
+      heap.add(element);
+
+    // when
+    final var removedPresentElement = heap.remove(4);
+    final var removedAbsentElement = heap.remove(40);
+
+    // then
+    Assert.assertTrue(removedPresentElement);
+    Assert.assertFalse(removedAbsentElement);
+    Assert.assertFalse(heap.contains(4));
+    Assert.assertTrue(heap.contains(9));
+    Assert.assertEquals(9, heap.size());
+
+    for (var element = 0; element < 10; element++)
+      if (element != 4)
+        Assert.assertEquals(element, (int) heap.poll());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addDuplicateThenThrowsException() {
+    // given
+    final var heap = new IndexedDaryHeap<Integer>(Comparator.naturalOrder());
+    heap.add(1);
+    // when
+    heap.add(1);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void decreaseKeyOfAbsentElementThenThrowsException() {
+    // given
+    final var heap = new IndexedDaryHeap<Integer>(Comparator.naturalOrder());
+    // when
+    heap.decreaseKey(1);
+  }
+
+  @Test
+  public void randomOperationsThenMatchesBruteForce() {
+
+    // given
+    final var random = new Random(0);
+    final var elementToPriority = new HashMap<Integer, Integer>();
+    // ties are broken by the element, so that the expected order is unambiguous
+    final var comparator = Comparator.<Integer, Integer>comparing(elementToPriority::get).thenComparing(Comparator.naturalOrder());
+
+    for (final var arity : new int[] { 2, 3, 4, 8 }) {
+      elementToPriority.clear();
+      final var heap = new IndexedDaryHeap<>(arity, comparator);
+
+      for (var i = 0; i < 20_000; i++) {
+        final var element = random.nextInt(500);
+        final var operation = random.nextInt(4);
+
+        // when
+        if (!heap.contains(element)) {
+          elementToPriority.put(element, random.nextInt(1_000));
+          heap.add(element);
+        } else if (operation == 0) {
+          elementToPriority.put(element, elementToPriority.get(element) - random.nextInt(100));
+          heap.decreaseKey(element);
+        } else if (operation == 1) {
+          heap.remove(element);
+          elementToPriority.remove(element);
+        } else if (operation == 2) {
+          // then
+          final var expectedElement = elementToPriority.keySet().stream().min(comparator).orElseThrow();
+          Assert.assertEquals(expectedElement, heap.poll());
+          elementToPriority.remove(expectedElement);
+        }
+
+        Assert.assertEquals(elementToPriority.size(), heap.size());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,89 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IntIntHashTableTest {
+
+  @Test
+  public void emptyThenRemoveHasFailed() {
+    // given
+    final var hashTable = new IntIntHashTable();
+    // then
+    Assert.assertFalse(hashTable.remove(1));
+    Assert.assertFalse(hashTable.containsKey(1));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void emptyThenGetThrowsException() {
+    // given
+    final var hashTable = new IntIntHashTable();
+    // when
+    hashTable.get(1);
+  }
+
+  @Test
+  public void addThenGet() {
+    // given
+    final var hashTable = new IntIntHashTable();
+    // when
+    hashTable.add(1, 10);
+    hashTable.add(-2, 20);
+    hashTable.add(1, 30);
+    // then
+    Assert.assertEquals(2, hashTable.size());
+    Assert.assertEquals(30, hashTable.get(1));
+    Assert.assertEquals(20, hashTable.get(-2));
+    Assert.assertEquals(-1, hashTable.getOrDefault(3, -1));
+  }
+
+  @Test
+  public void addMultipleIntoSingleClusterThenRemoveFirstEntry() {
+    // given
+    final var hashTable = new IntIntHashTable(16);
+    final var homeIndex = hashTable.calculateHomeIndex(0);
+    final var collidingKeys = new int[2];
+    for (int key = 1, found = 0; found < collidingKeys.length; key++) {
+      if (hashTable.calculateHomeIndex(key) == homeIndex)
+        collidingKeys[found++] = key;
+    }
+    hashTable.add(0, 0);
+    hashTable.add(collidingKeys[0], 1);
+    hashTable.add(collidingKeys[1], 2);
+    // when
+    hashTable.remove(0);
+    // then
+    Assert.assertFalse(hashTable.containsKey(0));
+    Assert.assertEquals(1, hashTable.get(collidingKeys[0]));
+    Assert.assertEquals(2, hashTable.get(collidingKeys[1]));
+    Assert.assertEquals(collidingKeys[0], hashTable.keys[homeIndex]);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeHashMap() {
+    // given
+    final var random = new Random(42);
+    final var hashTable = new IntIntHashTable(2);
+    final var expectedMap = new HashMap<Integer, Integer>();
+
+    // when
+    for (var i = 0; i < 10_000; i++) {
+      final var key = random.nextInt(2_000) - 1_000;
+      if (random.nextBoolean()) {
+        hashTable.add(key, i);
+        expectedMap.put(key, i);
+      } else {
+        Assert.assertEquals(expectedMap.remove(key) != null, hashTable.remove(key));
+      }
+    }
+
+    // then
+    Assert.assertEquals(expectedMap.size(), hashTable.size());
+    for (var key = -1_000; key < 1_000; key++)
+      Assert.assertEquals((int) expectedMap.getOrDefault(key, -1), hashTable.getOrDefault(key, -1));
+  }
+
+}
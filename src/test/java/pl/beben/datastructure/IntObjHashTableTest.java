@@ -0,0 +1,62 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.Random;
+
+public class IntObjHashTableTest {
+
+  @Test
+  public void addThenGet() {
+    // given
+    final var hashTable = new IntObjHashTable<String>();
+    // when
+    hashTable.add(1, "a");
+    hashTable.add(Integer.MIN_VALUE, "b");
+    hashTable.add(1, "c");
+    // then
+    Assert.assertEquals(2, hashTable.size());
+    Assert.assertEquals("c", hashTable.get(1));
+    Assert.assertEquals("b", hashTable.get(Integer.MIN_VALUE));
+    Assert.assertNull(hashTable.get(2));
+    Assert.assertEquals("d", hashTable.getOrDefault(2, "d"));
+  }
+
+  @Test
+  public void addThenRemove() {
+    // given
+    final var hashTable = new IntObjHashTable<String>();
+    hashTable.add(1, "a");
+    // then
+    Assert.assertTrue(hashTable.remove(1));
+    Assert.assertFalse(hashTable.remove(1));
+    Assert.assertFalse(hashTable.containsKey(1));
+    Assert.assertEquals(0, hashTable.size());
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeHashMap() {
+    // given
+    final var random = new Random(42);
+    final var hashTable = new IntObjHashTable<String>(2);
+    final var expectedMap = new HashMap<Integer, String>();
+
+    // when
+    for (var i = 0; i < 10_000; i++) {
+      final var key = random.nextInt(2_000) - 1_000;
+      if (random.nextBoolean()) {
+        hashTable.add(key, String.valueOf(i));
+        expectedMap.put(key, String.valueOf(i));
+      } else {
+        Assert.assertEquals(expectedMap.remove(key) != null, hashTable.remove(key));
+      }
+    }
+
+    // then
+    Assert.assertEquals(expectedMap.size(), hashTable.size());
+    for (var key = -1_000; key < 1_000; key++)
+      Assert.assertEquals(expectedMap.get(key), hashTable.get(key));
+  }
+
+}
@@ -0,0 +1,110 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LockFreeSkipListTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final int VALUES_PER_THREAD = 10_000;
+
+  @Test
+  public void addThenContainsAndForEachInOrder() {
+
+    // given
+    final var skipList = new LockFreeSkipList<Integer>();
+
+    // when
+    Assert.assertTrue(skipList.add(5));
+    Assert.assertTrue(skipList.add(3));
+    Assert.assertFalse(skipList.add(3));
+    Arrays.asList(1, 2, 8, 7, 9).forEach(skipList::add);
+
+    // then
+    Assert.assertEquals(7, skipList.size());
+    Assert.assertTrue(skipList.contains(3));
+    Assert.assertFalse(skipList.contains(4));
+    Assert.assertFalse(skipList.contains(null));
+
+    final var actualIterationOrder = new ArrayList<Integer>();
+    skipList.forEach(actualIterationOrder::add);
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8, 9), actualIterationOrder);
+
+    final var actualRange = new ArrayList<Integer>();
+    skipList.rangeForEach(4, 8, actualRange::add);
+    Assert.assertEquals(Arrays.asList(5, 7, 8), actualRange);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeTreeSet() {
+
+    // given
+    final var random = new Random(42);
+    final var skipList = new LockFreeSkipList<Integer>();
+    final var expectedValues = new TreeSet<Integer>();
+
+    // when
+    for (var i = 0; i < 20_000; i++) {
+      final var value = random.nextInt(2_000);
+      if (random.nextBoolean())
+        Assert.assertEquals(expectedValues.add(value), skipList.add(value));
+      else
+        Assert.assertEquals(expectedValues.remove(value), skipList.remove(value));
+    }
+
+    // then
+    Assert.assertEquals(expectedValues.size(), skipList.size());
+    final var actualValues = new ArrayList<Integer>();
+    skipList.forEach(actualValues::add);
+    Assert.assertEquals(new ArrayList<>(expectedValues), actualValues);
+  }
+
+  @Test
+  public void addAndRemoveConcurrentlyThenNothingIsLost() throws Exception {
+
+    // given
+    final var skipList = new LockFreeSkipList<Integer>();
+    final var executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+    try {
+      // every thread adds its own values interleaved with other threads' values, and removes every second one
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (var thread = 0; thread < THREAD_COUNT; thread++) {
+        final var firstValue = thread;
+        tasks.add(() -> {
+          for (var i = 0; i < VALUES_PER_THREAD; i++) {
+            final var value = firstValue + i * THREAD_COUNT;
+            Assert.assertTrue(skipList.add(value));
+            Assert.assertTrue(skipList.contains(value));
+            if (i % 2 == 0)
+              Assert.assertTrue(skipList.remove(value));
+          }
+          return null;
+        });
+      }
+
+      // when
+      for (final Future<Void> future : executor.invokeAll(tasks))
+        future.get();
+    } finally {
+      executor.shutdown();
+    }
+
+    // then
+    Assert.assertEquals(THREAD_COUNT * VALUES_PER_THREAD / 2, skipList.size());
+
+    final var actualValues = new ArrayList<Integer>();
+    skipList.forEach(actualValues::add);
+    Assert.assertEquals(THREAD_COUNT * VALUES_PER_THREAD / 2, actualValues.size());
+    for (var i = 1; i < actualValues.size(); i++)
+      Assert.assertTrue(actualValues.get(i - 1) < actualValues.get(i));
+  }
+
+}
@@ -0,0 +1,106 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+public class LongObjHashTableTest {
+
+  @Test
+  public void addExtremeKeysThenGet() {
+    // given
+    final var hashTable = new LongObjHashTable<String>();
+    // when
+    hashTable.add(Long.MIN_VALUE, "min");
+    hashTable.add(Long.MAX_VALUE, "max");
+    hashTable.add(0, "zero");
+    hashTable.add(-1, "minus one");
+    hashTable.add(Long.MAX_VALUE, "max again");
+    // then
+    Assert.assertEquals(4, hashTable.size());
+    Assert.assertEquals("min", hashTable.get(Long.MIN_VALUE));
+    Assert.assertEquals("max again", hashTable.get(Long.MAX_VALUE));
+    Assert.assertEquals("zero", hashTable.get(0));
+    Assert.assertEquals("minus one", hashTable.get(-1));
+    // the same low 32 bits as Long.MAX_VALUE and -1
+    Assert.assertNull(hashTable.get(Integer.MAX_VALUE));
+    Assert.assertEquals("d", hashTable.getOrDefault(0xFFFF_FFFFL, "d"));
+  }
+
+  @Test
+  public void addKeysEqualInTheirLow32BitsThenTheyAreDistinct() {
+    // given keys which would all be the same key if truncated to an int
+    final var hashTable = new LongObjHashTable<String>(2);
+    final long[] keys = { 7L, 7L | 1L << 32, 7L | 1L << 63, 7L | 0xABCD_0000_0000L, 7L - (1L << 32) };
+
+    // when
+    for (final var key : keys)
+      hashTable.add(key, Long.toHexString(key));
+
+    // then
+    Assert.assertEquals(keys.length, hashTable.size());
+    for (final var key : keys)
+      Assert.assertEquals(Long.toHexString(key), hashTable.get(key));
+
+    // when the key is removed, the others stay (and stay reachable, in spite of the backward shift)
+    Assert.assertTrue(hashTable.remove(7L | 1L << 32));
+    // then
+    Assert.assertFalse(hashTable.containsKey(7L | 1L << 32));
+    Assert.assertFalse(hashTable.remove(7L | 1L << 32));
+    Assert.assertEquals(keys.length - 1, hashTable.size());
+    for (final var key : keys)
+      if (key != (7L | 1L << 32))
+        Assert.assertEquals(Long.toHexString(key), hashTable.get(key));
+  }
+
+  @Test
+  public void keysDifferingOnlyInTheirHighBitsThenAreSpreadOverTheTable() {
+    // given
+    final var hashTable = new LongObjHashTable<String>(1024);
+    final var homeIndexes = new HashSet<Integer>();
+
+    // when the low 32 bits of every key are the same
+    for (var high = 0L; high < 512; high++)
+      homeIndexes.add(hashTable.calculateHomeIndex(high << 32 | 42));
+
+    // then the high bits are mixed into the home index as well (a hash of just the low bits would give a single index)
+    Assert.assertTrue("Only " + homeIndexes.size() + " home indexes", homeIndexes.size() >= 256);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeHashMap() {
+    // given groups of keys sharing their low 32 bits, with both random and extreme high 32 bits
+    final var random = new Random(42);
+    final var keys = new long[1_000];
+    for (var i = 0; i < keys.length; i += 5) {
+      final var low = random.nextInt() & 0xFFFF_FFFFL;
+      keys[i] = low;
+      keys[i + 1] = low | (long) Integer.MIN_VALUE << 32;
+      keys[i + 2] = low | 0xFFFF_FFFF_0000_0000L;
+      keys[i + 3] = low | 0x7FFF_FFFF_0000_0000L;
+      keys[i + 4] = low | (long) random.nextInt() << 32;
+    }
+
+    final var hashTable = new LongObjHashTable<String>(2);
+    final var expectedMap = new HashMap<Long, String>();
+
+    // when
+    for (var i = 0; i < 20_000; i++) {
+      final var key = keys[random.nextInt(keys.length)];
+      if (random.nextBoolean()) {
+        hashTable.add(key, String.valueOf(i));
+        expectedMap.put(key, String.valueOf(i));
+      } else {
+        Assert.assertEquals(expectedMap.remove(key) != null, hashTable.remove(key));
+      }
+    }
+
+    // then
+    Assert.assertEquals(expectedMap.size(), hashTable.size());
+    for (final var key : keys)
+      Assert.assertEquals(expectedMap.get(key), hashTable.get(key));
+  }
+
+}
@@ -0,0 +1,171 @@
+package pl.beben.datastructure;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+
+public class MappedUtf8TrieTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path writeTestTrie() throws IOException {
+    final var trie = new Utf8Trie();
+
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("cancer");
+    trie.addWord("dog");
+    trie.addWord("żółw");
+    trie.addWord("żółty");
+    trie.addWord("🐕");
+
+    final var file = temporaryFolder.newFile().toPath();
+    trie.writeTo(file);
+    return file;
+  }
+
+  @Test
+  public void writeThenOpenThenContains() throws IOException {
+    try (final var trie = MappedUtf8Trie.open(writeTestTrie())) {
+
+      // then
+      Assert.assertEquals(7, trie.wordCount());
+
+      Assert.assertTrue(trie.containsWord("car"));
+      Assert.assertTrue(trie.containsWord("card"));
+      Assert.assertTrue(trie.containsWord("cancer"));
+      Assert.assertTrue(trie.containsWord("dog"));
+      Assert.assertTrue(trie.containsWord("żółw"));
+      Assert.assertTrue(trie.containsWord("żółty"));
+      Assert.assertTrue(trie.containsWord("🐕"));
+
+      Assert.assertFalse(trie.containsWord(""));
+      Assert.assertFalse(trie.containsWord("ca"));
+      Assert.assertFalse(trie.containsWord("żół"));
+      Assert.assertFalse(trie.containsWord("dogs"));
+      Assert.assertFalse(trie.containsWord("🐈"));
+
+      Assert.assertTrue(trie.contains(""));
+      Assert.assertTrue(trie.contains("ca"));
+      Assert.assertTrue(trie.contains("żół"));
+      Assert.assertFalse(trie.contains("zol"));
+      Assert.assertFalse(trie.contains("cani"));
+    }
+  }
+
+  @Test
+  public void writeThenOpenThenSearchWordsStartingWithPrefix() throws IOException {
+    try (final var trie = MappedUtf8Trie.open(writeTestTrie())) {
+
+      // then
+      Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), trie.searchWordsStartingWith("ca"));
+      Assert.assertEquals(ImmutableSet.of("car", "card"), trie.searchWordsStartingWith("car"));
+      Assert.assertEquals(ImmutableSet.of("żółw", "żółty"), trie.searchWordsStartingWith("ż"));
+      Assert.assertEquals(ImmutableSet.of(), trie.searchWordsStartingWith("x"));
+      Assert.assertEquals(
+        ImmutableSet.of("car", "card", "cancer", "dog", "żółw", "żółty", "🐕"),
+        trie.searchWordsStartingWith("")
+      );
+    }
+  }
+
+  @Test
+  public void writeRandomWordsThenOpenThenBehavesLikeTrie() throws IOException {
+
+    // given
+    final var random = new Random(0);
+    final var alphabet = new String[] { "a", "b", "c", "ą", "ć", "ę", "🐕" };
+    final var trie = new Utf8Trie();
+    final var words = new HashSet<String>();
+
+    for (var i = 0; i < 5_000; i++) {
+      final var word = new StringBuilder();
+      for (var j = random.nextInt(8); j >= 0; j--)
+        word.append(alphabet[random.nextInt(alphabet.length)]);
+
+      trie.addWord(word.toString());
+      words.add(word.toString());
+    }
+
+    final var file = temporaryFolder.newFile().toPath();
+
+    // when
+    trie.writeTo(file);
+
+    // then
+    try (final var mappedTrie = MappedUtf8Trie.open(file)) {
+      Assert.assertEquals(words.size(), mappedTrie.wordCount());
+      Assert.assertEquals(words, mappedTrie.searchWordsStartingWith(""));
+      for (final var word : words) {
+        Assert.assertTrue(mappedTrie.containsWord(word));
+        Assert.assertTrue(mappedTrie.contains(word.substring(0, word.offsetByCodePoints(0, 1))));
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeThenUseThrowsException() throws IOException {
+    // given
+    final var trie = MappedUtf8Trie.open(writeTestTrie());
+    trie.close();
+    // when
+    trie.containsWord("car");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeThenWordCountThrowsException() throws IOException {
+    // given
+    final var trie = MappedUtf8Trie.open(writeTestTrie());
+    trie.close();
+    // when
+    trie.wordCount();
+  }
+
+  @Test
+  public void closeThenFileIsUnmappedRightAway() throws IOException {
+    // given
+    final var file = writeTestTrie();
+    final var mappedMemoryUsedBefore = mappedMemoryUsed();
+    final var trie = MappedUtf8Trie.open(file);
+    // (the mapping starts at the beginning of a page, so it covers the header as well)
+    Assert.assertTrue(mappedMemoryUsed() - mappedMemoryUsedBefore >= Files.size(file) - MappedUtf8Trie.FILE_HEADER_SIZE);
+
+    // when
+    trie.close();
+
+    // then
+    Assert.assertTrue(mappedMemoryUsed() <= mappedMemoryUsedBefore);
+    // the file may be overwritten (even on Windows, which doesn't allow that while it's mapped)
+    Files.write(file, new byte[0]);
+    // and closing twice does nothing
+    trie.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void openNotATrieThenThrowsException() throws IOException {
+    // given
+    final var file = temporaryFolder.newFile().toPath();
+    Files.writeString(file, "definitely not a trie");
+    // when
+    MappedUtf8Trie.open(file);
+  }
+
+  private static long mappedMemoryUsed() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+      .filter(bufferPool -> bufferPool.getName().equals("mapped"))
+      .findFirst()
+      .orElseThrow()
+      .getMemoryUsed();
+  }
+
+}
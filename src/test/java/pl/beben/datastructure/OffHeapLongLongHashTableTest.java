@@ -0,0 +1,182 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class OffHeapLongLongHashTableTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void addThenGet() {
+    try (final var hashTable = new OffHeapLongLongHashTable()) {
+      // when
+      hashTable.add(1L, 10L);
+      hashTable.add(Long.MIN_VALUE, 20L);
+      hashTable.add(1L, 30L);
+      // then
+      Assert.assertEquals(2, hashTable.size());
+      Assert.assertEquals(30L, hashTable.get(1L));
+      Assert.assertEquals(20L, hashTable.get(Long.MIN_VALUE));
+      Assert.assertEquals(-1L, hashTable.getOrDefault(2L, -1L));
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void emptyThenGetThrowsException() {
+    try (final var hashTable = new OffHeapLongLongHashTable()) {
+      hashTable.get(0L);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeThenUseThrowsException() {
+    // given
+    final var hashTable = new OffHeapLongLongHashTable();
+    // when
+    hashTable.close();
+    hashTable.containsKey(1L);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeThenSizeThrowsException() {
+    // given
+    final var hashTable = new OffHeapLongLongHashTable();
+    hashTable.add(1L, 1L);
+    // when
+    hashTable.close();
+    hashTable.size();
+  }
+
+  @Test
+  public void resizeAndCloseThenDirectMemoryIsReleasedRightAway() {
+    // given
+    final var directMemoryUsedBefore = directMemoryUsed();
+    final var hashTable = new OffHeapLongLongHashTable(2);
+
+    // when the table is resized several times
+    for (var key = 0L; key < 10_000; key++)
+      hashTable.add(key, key);
+
+    // then only the current buffer is left, the previous ones are already released
+    Assert.assertTrue(directMemoryUsed() - directMemoryUsedBefore <= (long) hashTable.capacity * OffHeapLongLongHashTable.SLOT_SIZE);
+
+    // when
+    hashTable.close();
+    // then
+    Assert.assertTrue(directMemoryUsed() <= directMemoryUsedBefore);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeHashMap() {
+    try (final var hashTable = new OffHeapLongLongHashTable(2)) {
+      // given
+      final var random = new Random(42);
+      final var expectedMap = new HashMap<Long, Long>();
+
+      // when
+      for (var i = 0L; i < 10_000; i++) {
+        final var key = random.nextInt(2_000) - 1_000L;
+        if (random.nextBoolean()) {
+          hashTable.add(key, i);
+          expectedMap.put(key, i);
+        } else {
+          Assert.assertEquals(expectedMap.remove(key) != null, hashTable.remove(key));
+        }
+      }
+
+      // then
+      Assert.assertEquals(expectedMap.size(), hashTable.size());
+      for (var key = -1_000L; key < 1_000; key++)
+        Assert.assertEquals((long) expectedMap.getOrDefault(key, -1L), hashTable.getOrDefault(key, -1L));
+    }
+  }
+
+  @Test
+  public void writeThenOpenMappedFile() throws IOException {
+    // given
+    final var file = temporaryFolder.newFile().toPath();
+    try (final var hashTable = new OffHeapLongLongHashTable()) {
+      for (var key = 0L; key < 1_000; key++)
+        hashTable.add(key, key * key);
+      hashTable.remove(500L);
+      // when
+      hashTable.writeTo(file);
+    }
+
+    // then
+    Assert.assertEquals(
+      OffHeapLongLongHashTable.FILE_HEADER_SIZE + 2048L * OffHeapLongLongHashTable.SLOT_SIZE,
+      Files.size(file)
+    );
+
+    try (final var mappedHashTable = OffHeapLongLongHashTable.open(file)) {
+      Assert.assertEquals(999, mappedHashTable.size());
+      Assert.assertFalse(mappedHashTable.containsKey(500L));
+      for (var key = 0L; key < 1_000; key++) {
+        if (key != 500L)
+          Assert.assertEquals(key * key, mappedHashTable.get(key));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void openSnapshotWithoutEmptySlotThenThrowsException() throws IOException {
+    // given
+    final var file = temporaryFolder.newFile().toPath();
+    try (final var hashTable = new OffHeapLongLongHashTable(1)) {
+      hashTable.writeTo(file);
+    }
+
+    // the size (the last int of the header) claims that every slot is occupied
+    final var bytes = Files.readAllBytes(file);
+    final var capacity = bytes[8];
+    bytes[12] = capacity;
+    Files.write(file, bytes);
+
+    // when
+    OffHeapLongLongHashTable.open(file);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void openMappedFileThenAddThrowsException() throws IOException {
+    // given
+    final var file = temporaryFolder.newFile().toPath();
+    try (final var hashTable = new OffHeapLongLongHashTable()) {
+      hashTable.writeTo(file);
+    }
+
+    try (final var mappedHashTable = OffHeapLongLongHashTable.open(file)) {
+      // when
+      mappedHashTable.add(1L, 1L);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void openNotASnapshotThenThrowsException() throws IOException {
+    // given
+    final var file = temporaryFolder.newFile().toPath();
+    Files.writeString(file, "definitely not a hash table");
+    // when
+    OffHeapLongLongHashTable.open(file);
+  }
+
+  private static long directMemoryUsed() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+      .filter(bufferPool -> bufferPool.getName().equals("direct"))
+      .findFirst()
+      .orElseThrow()
+      .getMemoryUsed();
+  }
+
+}
@@ -0,0 +1,148 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.Random;
+
+public class OpenAddressingHashTableTest {
+
+  private static final String DUMMY_VALUE = "a";
+
+  @Test
+  public void emptyThenRemoveHasFailed() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>();
+    // then
+    Assert.assertFalse(hashTable.remove(1));
+  }
+
+  @Test
+  public void emptyThenNotContainsKey() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>();
+    // then
+    Assert.assertFalse(hashTable.containsKey(1));
+  }
+
+  @Test
+  public void addThenRemove() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>();
+    // when
+    hashTable.add(1, DUMMY_VALUE);
+    // then
+    Assert.assertTrue(hashTable.remove(1));
+    Assert.assertFalse(hashTable.containsKey(1));
+    Assert.assertEquals(0, hashTable.size());
+  }
+
+  @Test
+  public void addSameKeyTwiceThenCheckSize() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>();
+    // when
+    hashTable.add(1, DUMMY_VALUE);
+    hashTable.add(1, "b");
+    // then
+    Assert.assertEquals(1, hashTable.size());
+    Assert.assertEquals("b", hashTable.get(1));
+    Assert.assertNull(hashTable.get(2));
+    Assert.assertEquals("c", hashTable.getOrDefault(2, "c"));
+  }
+
+  @Test
+  public void addPresentKeyToFullTableThenDoesNotResize() {
+    // given table at its max load factor (3 of 4 slots)
+    final var hashTable = new OpenAddressingHashTable<Integer, String>(4);
+    hashTable.add(1, DUMMY_VALUE);
+    hashTable.add(2, DUMMY_VALUE);
+    hashTable.add(3, DUMMY_VALUE);
+    final var keysBefore = hashTable.keys;
+    // when
+    hashTable.add(2, "b");
+    // then
+    Assert.assertSame(keysBefore, hashTable.keys);
+    Assert.assertEquals(3, hashTable.size());
+    Assert.assertEquals("b", hashTable.get(2));
+
+    // when a new key is added
+    hashTable.add(4, DUMMY_VALUE);
+    // then
+    Assert.assertEquals(8, hashTable.keys.length);
+  }
+
+  @Test
+  public void overflowCapacityThenContainsKey() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>(2);
+    // when
+    hashTable.add(1, DUMMY_VALUE);
+    hashTable.add(2, DUMMY_VALUE);
+    hashTable.add(3, DUMMY_VALUE);
+    // then
+    Assert.assertEquals(3, hashTable.size());
+    Assert.assertTrue(hashTable.keys.length >= 4);
+    Assert.assertTrue(hashTable.containsKey(1));
+    Assert.assertTrue(hashTable.containsKey(2));
+    Assert.assertTrue(hashTable.containsKey(3));
+  }
+
+  @Test
+  public void addMultipleIntoSingleClusterThenRemoveFirstEntry() {
+    // given
+    final var hashTable = new OpenAddressingHashTable<Integer, String>(16);
+    final var firstInt = 1;
+    final var secondInt = 17;
+    final var thirdInt = 33;
+    final var homeIndex = hashTable.calculateHomeIndex(firstInt);
+    // then
+    Assert.assertEquals(
+      "Broken test case, chosen integers must have the same home slot",
+      homeIndex, hashTable.calculateHomeIndex(secondInt)
+    );
+    Assert.assertEquals(
+      "Broken test case, chosen integers must have the same home slot",
+      homeIndex, hashTable.calculateHomeIndex(thirdInt)
+    );
+    // given
+    hashTable.add(firstInt, DUMMY_VALUE);
+    hashTable.add(secondInt, DUMMY_VALUE);
+    hashTable.add(thirdInt, DUMMY_VALUE);
+    // when
+    hashTable.remove(firstInt);
+    // then remaining entries have been shifted back towards their home slot
+    Assert.assertFalse(hashTable.containsKey(firstInt));
+    Assert.assertTrue(hashTable.containsKey(secondInt));
+    Assert.assertTrue(hashTable.containsKey(thirdInt));
+    Assert.assertEquals(homeIndex, hashTable.findSlotIndex(secondInt));
+    Assert.assertEquals(0, hashTable.probeLengths[homeIndex]);
+    Assert.assertEquals(1, hashTable.probeLengths[homeIndex + 1]);
+    Assert.assertEquals(-1, hashTable.probeLengths[homeIndex + 2]);
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeHashSet() {
+    // given
+    final var random = new Random(42);
+    final var hashTable = new OpenAddressingHashTable<Integer, String>();
+    final var expectedKeys = new HashSet<Integer>();
+
+    // when
+    for (var i = 0; i < 10_000; i++) {
+      final var key = random.nextInt(2_000) - 1_000;
+      if (random.nextBoolean()) {
+        hashTable.add(key, DUMMY_VALUE);
+        expectedKeys.add(key);
+      } else {
+        Assert.assertEquals(expectedKeys.remove(key), hashTable.remove(key));
+      }
+    }
+
+    // then
+    Assert.assertEquals(expectedKeys.size(), hashTable.size());
+    for (var key = -1_000; key < 1_000; key++)
+      Assert.assertEquals(expectedKeys.contains(key), hashTable.containsKey(key));
+  }
+
+}
@@ -0,0 +1,209 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PersistentBinarySearchTreeTest {
+
+  private static final int READER_COUNT = 4;
+  private static final int WRITES = 2_000;
+
+  private volatile PersistentBinarySearchTree<Integer> latestVersion = new PersistentBinarySearchTree<>();
+
+  @Test
+  public void addThenPreviousVersionIsUnchanged() {
+
+    // given
+    final var empty = new PersistentBinarySearchTree<Integer>();
+    var tree = empty;
+    for (final var value : Arrays.asList(5, 3, 8))
+      tree = tree.add(value);
+
+    // when
+    final var withOne = tree.add(1);
+
+    // then
+    Assert.assertTrue(empty.isEmpty());
+    Assert.assertEquals(3, tree.size());
+    Assert.assertFalse(tree.contains(1));
+    Assert.assertEquals(4, withOne.size());
+    Assert.assertTrue(withOne.contains(1));
+
+    final var actualIterationOrder = new ArrayList<Integer>();
+    withOne.forEach(actualIterationOrder::add);
+    Assert.assertEquals(Arrays.asList(1, 3, 5, 8), actualIterationOrder);
+  }
+
+  @Test
+  public void addThenUnchangedSubtreesAreShared() {
+
+    // given tree of the following structure
+    //      5
+    //    3   8
+    //  1
+    var tree = new PersistentBinarySearchTree<Integer>();
+    for (final var value : Arrays.asList(5, 3, 8, 1))
+      tree = tree.add(value);
+
+    // when
+    final var newTree = tree.add(9);
+
+    // then only the path to the new node (5, 8) is copied
+    Assert.assertNotSame(tree.rootNode, newTree.rootNode);
+    Assert.assertNotSame(tree.rootNode.right, newTree.rootNode.right);
+    Assert.assertSame(tree.rootNode.left, newTree.rootNode.left);
+    Assert.assertNull(tree.rootNode.right.right);
+    Assert.assertEquals(9, (int) newTree.rootNode.right.right.value);
+  }
+
+  @Test
+  public void removeNodeWithTwoChildrenThenPreviousVersionIsUnchanged() {
+
+    // given tree of the following structure
+    //        5
+    //    3       8
+    //  1   4   7   9
+    var tree = new PersistentBinarySearchTree<Integer>();
+    for (final var value : Arrays.asList(5, 3, 8, 1, 4, 7, 9))
+      tree = tree.add(value);
+
+    // when
+    final var newTree = tree.remove(5);
+
+    // then successor (7) takes the place of the root in the new version only
+    Assert.assertEquals(7, (int) newTree.rootNode.value);
+    Assert.assertNull(newTree.rootNode.right.left);
+    Assert.assertSame(tree.rootNode.left, newTree.rootNode.left);
+    Assert.assertSame(tree.rootNode.right.right, newTree.rootNode.right.right);
+    Assert.assertEquals(6, newTree.size());
+    Assert.assertFalse(newTree.contains(5));
+
+    Assert.assertEquals(5, (int) tree.rootNode.value);
+    Assert.assertEquals(7, (int) tree.rootNode.right.left.value);
+    Assert.assertEquals(7, tree.size());
+    Assert.assertTrue(tree.contains(5));
+  }
+
+  @Test
+  public void removeAbsentValueThenSameVersionIsReturned() {
+
+    // given
+    final var tree = new PersistentBinarySearchTree<Integer>().add(1).add(2);
+
+    // then
+    Assert.assertSame(tree, tree.remove(3));
+    Assert.assertSame(tree, tree.remove(null));
+  }
+
+  @Test
+  public void addInAscendingOrderThenStackDoesNotOverflow() {
+
+    // given values that turn the tree into a linked list
+    var tree = new PersistentBinarySearchTree<Integer>();
+    for (var i = 0; i < 5_000; i++)
+      tree = tree.add(i);
+
+    // when
+    for (var i = 0; i < 5_000; i += 2)
+      tree = tree.remove(i);
+
+    // then
+    Assert.assertEquals(2_500, tree.size());
+    Assert.assertTrue(tree.contains(4_999));
+    Assert.assertFalse(tree.contains(0));
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenEveryVersionBehavesLikeTreeMap() {
+
+    // given
+    final var random = new Random(0);
+    final var versions = new ArrayList<PersistentBinarySearchTree<Integer>>();
+    final var expectedVersions = new ArrayList<TreeMap<Integer, Integer>>();
+
+    var tree = new PersistentBinarySearchTree<Integer>();
+    var expected = new TreeMap<Integer, Integer>();
+
+    // when
+    for (var i = 0; i < 2_000; i++) {
+      final var value = random.nextInt(100);
+      expected = new TreeMap<>(expected);
+
+      if (random.nextBoolean()) {
+        tree = tree.add(value);
+        expected.merge(value, 1, Integer::sum);
+      } else {
+        tree = tree.remove(value);
+        expected.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+      }
+
+      versions.add(tree);
+      expectedVersions.add(expected);
+    }
+
+    // then
+    for (var i = 0; i < versions.size(); i++) {
+      final var expectedIterationOrder = new ArrayList<Integer>();
+      expectedVersions.get(i).forEach((value, count) -> {
+        for (var j = 0; j < count; j++)
+          expectedIterationOrder.add(value);
+      });
+
+      final var actualIterationOrder = new ArrayList<Integer>();
+      versions.get(i).forEach(actualIterationOrder::add);
+
+      Assert.assertEquals(expectedIterationOrder, actualIterationOrder);
+      Assert.assertEquals(expectedIterationOrder.size(), versions.get(i).size());
+    }
+  }
+
+  @Test
+  public void readSnapshotsWhileWriterModifiesThenEverySnapshotIsConsistent() throws Exception {
+
+    // given
+    final var executor = Executors.newFixedThreadPool(READER_COUNT + 1);
+
+    try {
+      // the writer keeps the tree holding every value within [0, i], publishing a new version after every add
+      final var tasks = new ArrayList<Callable<Void>>();
+      tasks.add(() -> {
+        for (var i = 0; i < WRITES; i++)
+          latestVersion = latestVersion.add(i);
+        return null;
+      });
+
+      // readers take snapshots and check that they are consistent - values are [0, size) and nothing changes during the iteration
+      for (var reader = 0; reader < READER_COUNT; reader++) {
+        tasks.add(() -> {
+          var snapshot = latestVersion;
+          while (snapshot.size() < WRITES) {
+            final var expectedValue = new int[] { 0 };
+            snapshot.forEach(value -> Assert.assertEquals(expectedValue[0]++, (int) value));
+            Assert.assertEquals(snapshot.size(), expectedValue[0]);
+
+            snapshot = latestVersion;
+          }
+          return null;
+        });
+      }
+
+      // when
+      for (final Future<Void> future : executor.invokeAll(tasks))
+        future.get();
+
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // then
+    Assert.assertEquals(WRITES, latestVersion.size());
+  }
+
+}
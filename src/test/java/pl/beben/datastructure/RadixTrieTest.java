@@ -0,0 +1,232 @@
+package pl.beben.datastructure;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+public class RadixTrieTest {
+
+  private RadixTrie createTestTrie() {
+    //
+    //          ROOT
+    //       ca       dog:
+    //    r:   ncer:
+    //  d:
+    //
+    // legend:
+    //   - characters - label of the edge leading to the node
+    //   - colon following the label (":") - end of word
+
+    final var trie = new RadixTrie();
+
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("cancer");
+    trie.addWord("dog");
+
+    return trie;
+  }
+
+  @Test
+  public void addThenContains() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // then
+    containsWord: {
+      Assert.assertTrue(trie.containsWord("car"));
+      Assert.assertTrue(trie.containsWord("card"));
+      Assert.assertTrue(trie.containsWord("cancer"));
+      Assert.assertTrue(trie.containsWord("dog"));
+
+      Assert.assertFalse(trie.containsWord("ca"));
+      Assert.assertFalse(trie.containsWord("can"));
+      Assert.assertFalse(trie.containsWord("door"));
+      Assert.assertFalse(trie.containsWord("dogs"));
+    }
+
+    // then
+    contains: {
+      Assert.assertTrue(trie.contains("c"));
+      Assert.assertTrue(trie.contains("ca"));
+      Assert.assertTrue(trie.contains("car"));
+      Assert.assertTrue(trie.contains("can"));
+      Assert.assertTrue(trie.contains("cancer"));
+      Assert.assertTrue(trie.contains("do"));
+      Assert.assertTrue(trie.contains("dog"));
+
+      Assert.assertFalse(trie.contains("door"));
+      Assert.assertFalse(trie.contains("cani"));
+      Assert.assertFalse(trie.contains("dogs"));
+    }
+  }
+
+  @Test
+  public void addThenTestStructure() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // then
+    final var ca = trie.root.charToNode.get('c');
+    Assert.assertEquals("ca", ca.label());
+    Assert.assertFalse(ca.isEndOfWord);
+    Assert.assertEquals("r", ca.charToNode.get('r').label());
+    Assert.assertTrue(ca.charToNode.get('r').isEndOfWord);
+    Assert.assertEquals("d", ca.charToNode.get('r').charToNode.get('d').label());
+    Assert.assertEquals("ncer", ca.charToNode.get('n').label());
+    Assert.assertEquals("dog", trie.root.charToNode.get('d').label());
+
+    // 12 nodes in the Trie
+    Assert.assertEquals(6, trie.nodeCount());
+  }
+
+  @Test
+  public void addWordEndingInTheMiddleOfLabelThenLabelIsSplit() {
+
+    // given
+    final var trie = new RadixTrie();
+    trie.addWord("cancer");
+
+    // when
+    trie.addWord("can");
+
+    // then
+    final var can = trie.root.charToNode.get('c');
+    Assert.assertEquals("can", can.label());
+    Assert.assertTrue(can.isEndOfWord);
+    Assert.assertEquals("cer", can.charToNode.get('c').label());
+    Assert.assertTrue(trie.containsWord("can"));
+    Assert.assertTrue(trie.containsWord("cancer"));
+    Assert.assertFalse(trie.containsWord("canc"));
+  }
+
+  @Test
+  public void addThenRemove() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    trie.removeWord("car");
+
+    // then
+    Assert.assertFalse(trie.containsWord("car"));
+
+    Assert.assertTrue(trie.contains("car"));
+    Assert.assertTrue(trie.containsWord("card"));
+  }
+
+  @Test
+  public void removeThenNodesAreMerged() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when "car" is removed, its node is no longer needed - it gets merged with its only child
+    trie.removeWord("car");
+
+    // then
+    Assert.assertEquals("rd", trie.root.charToNode.get('c').charToNode.get('r').label());
+
+    // when "cancer" is removed, "ca" has a single child left
+    trie.removeWord("cancer");
+
+    // then
+    Assert.assertEquals("card", trie.root.charToNode.get('c').label());
+    Assert.assertTrue(trie.containsWord("card"));
+    Assert.assertFalse(trie.contains("can"));
+    Assert.assertEquals(3, trie.nodeCount());
+  }
+
+  @Test
+  public void addEmptyWordThenItIsIgnored() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    trie.addWord("");
+
+    // then
+    Assert.assertFalse(trie.containsWord(""));
+    Assert.assertFalse(trie.root.isEndOfWord);
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer", "dog"), trie.searchWordsStartingWith(""));
+  }
+
+  @Test
+  public void removeNonexistentWordThenNothingChanges() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    trie.removeWord("ca");
+    trie.removeWord("cards");
+    trie.removeWord("cat");
+    trie.removeWord("");
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer", "dog"), trie.searchWordsStartingWith(""));
+  }
+
+  @Test
+  public void addThenSearchWordsStartingWithPrefix() {
+
+    // given
+    final var trie = createTestTrie();
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), trie.searchWordsStartingWith("ca"));
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), trie.searchWordsStartingWith("c"));
+    Assert.assertEquals(ImmutableSet.of("car", "card"), trie.searchWordsStartingWith("car"));
+    Assert.assertEquals(ImmutableSet.of("cancer"), trie.searchWordsStartingWith("canc"));
+    Assert.assertEquals(ImmutableSet.of(), trie.searchWordsStartingWith("cat"));
+  }
+
+  @Test
+  public void addAndRemoveRandomlyThenBehavesLikeSet() {
+
+    // given
+    final var random = new Random(0);
+    final var trie = new RadixTrie();
+    final var words = new ArrayList<String>();
+
+    // when
+    for (var i = 0; i < 5_000; i++) {
+      if (words.isEmpty() || random.nextInt(3) != 0) {
+        final var word = randomWord(random);
+        trie.addWord(word);
+        if (!words.contains(word))
+          words.add(word);
+      } else {
+        final var word = words.remove(random.nextInt(words.size()));
+        trie.removeWord(word);
+      }
+    }
+
+    // then
+    for (var i = 0; i < 5_000; i++) {
+      final var string = randomWord(random);
+      Assert.assertEquals(words.contains(string), trie.containsWord(string));
+      Assert.assertEquals(words.stream().anyMatch(word -> word.startsWith(string)), trie.contains(string));
+    }
+
+    Assert.assertEquals(new HashSet<>(words), trie.searchWordsStartingWith(""));
+  }
+
+  private static String randomWord(Random random) {
+    final var alphabet = "abc";
+    final var length = 1 + random.nextInt(8);
+
+    final var word = new StringBuilder(length);
+    for (var i = 0; i < length; i++)
+      word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    return word.toString();
+  }
+
+}
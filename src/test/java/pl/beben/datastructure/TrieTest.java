@@ -3,6 +3,13 @@ package pl.beben.datastructure;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Assert;
 import org.junit.Test;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class TrieTest {
 
@@ -133,4 +140,215 @@ public class TrieTest {
     Assert.assertNull(trie.root.charToNode.get('c').charToNode.get('a').charToNode.get('r'));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void addThenIterateWordsStartingWithPrefix() {
+    // given
+    final var trie = createTestTrie();
+
+    // when
+    final var words = new HashSet<String>();
+    trie.iterateWordsStartingWith("ca").forEachRemaining(words::add);
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer"), words);
+    Assert.assertEquals(ImmutableSet.of("car", "card"), trie.streamWordsStartingWith("car").collect(Collectors.toSet()));
+    Assert.assertEquals(ImmutableSet.of("car", "card", "cancer", "dog"), trie.streamWordsStartingWith("").collect(Collectors.toSet()));
+    Assert.assertFalse(trie.iterateWordsStartingWith("cat").hasNext());
+  }
+
+  @Test
+  public void addManyThenSearchWordsStartingWithPrefixIsLimited() {
+    // given every two letter word of the alphabet, and "a" itself
+    final var trie = new Trie();
+    trie.addWord("a");
+    for (var first = 'a'; first <= 'z'; first++)
+      for (var second = 'a'; second <= 'z'; second++)
+        trie.addWord("" + first + second);
+
+    // when
+    final var words = trie.searchWordsStartingWith("a", 10);
+
+    // then
+    Assert.assertEquals(10, words.size());
+    Assert.assertEquals(10, new HashSet<>(words).size());
+    words.forEach(word -> Assert.assertTrue(word.startsWith("a") && trie.containsWord(word)));
+
+    Assert.assertEquals(27, trie.searchWordsStartingWith("a", 100).size());
+    Assert.assertEquals(0, trie.searchWordsStartingWith("a", 0).size());
+    Assert.assertEquals(5, trie.streamWordsStartingWith("b").limit(5).count());
+  }
+
+  @Test
+  public void addWithWeightsThenTopK() {
+    // given
+    final var trie = new Trie();
+    trie.addWord("car", 50);
+    trie.addWord("card", 10);
+    trie.addWord("care", 70);
+    trie.addWord("cancer", 30);
+    trie.addWord("cat", 90);
+    trie.addWord("dog", 100);
+
+    // then
+    Assert.assertEquals(Arrays.asList("cat", "care", "car"), trie.topK("ca", 3));
+    Assert.assertEquals(Arrays.asList("care", "car", "card"), trie.topK("car", 5));
+    Assert.assertEquals(Arrays.asList("dog", "cat"), trie.topK("", 2));
+    Assert.assertEquals(Arrays.asList(), trie.topK("x", 2));
+    Assert.assertEquals(Arrays.asList(), trie.topK("ca", 0));
+  }
+
+  @Test
+  public void updateWeightsThenTopKReflectsTheChanges() {
+    // given
+    final var trie = new Trie();
+    trie.addWord("car", 50);
+    trie.addWord("card", 10);
+    trie.addWord("cat", 90);
+
+    // when the heaviest word loses its weight
+    trie.addWord("cat", 1);
+
+    // then
+    Assert.assertEquals(Arrays.asList("car", "card"), trie.topK("ca", 2));
+
+    // when the heaviest word is removed
+    trie.removeWord("car");
+
+    // then
+    Assert.assertEquals(Arrays.asList("card", "cat"), trie.topK("ca", 2));
+    Assert.assertEquals(10, trie.root.charToNode.get('c').maxSubtreeWeight);
+  }
+
+  @Test
+  public void addExistingWordWithoutWeightThenItKeepsItsWeight() {
+    // given
+    final var trie = new Trie();
+    trie.addWord("ab", 50);
+    trie.addWord("ac", 10);
+
+    // when
+    trie.addWord("ab");
+
+    // then
+    Assert.assertEquals(Arrays.asList("ab"), trie.topK("a", 1));
+
+    // when the word is removed, and then added again - it's a new word
+    trie.removeWord("ab");
+    trie.addWord("ab");
+
+    // then
+    Assert.assertEquals(Arrays.asList("ac", "ab"), trie.topK("a", 2));
+  }
+
+  @Test
+  public void removeWordThenItsPrefixWordIsKept() {
+    // given
+    final var trie = new Trie();
+    trie.addWord("ca", 5);
+    trie.addWord("cat", 7);
+
+    // when
+    trie.removeWord("cat");
+
+    // then
+    Assert.assertTrue(trie.containsWord("ca"));
+    Assert.assertEquals(Arrays.asList("ca"), trie.topK("c", 3));
+  }
+
+  @Test
+  public void addRandomlyThenTopKMatchesSortedWords() {
+    // given
+    final var random = new Random(0);
+    final var trie = new Trie();
+    final var wordToWeight = new HashMap<String, Long>();
+
+    for (var i = 0; i < 5_000; i++) {
+      final var word = randomWord(random);
+      // distinct weights, so that the order is well defined
+      final var weight = (long) i;
+
+      trie.addWord(word, weight);
+      wordToWeight.put(word, weight);
+    }
+
+    for (final var prefix : Arrays.asList("", "a", "ab", "dcb")) {
+      // when
+      final List<String> actualTopK = trie.topK(prefix, 20);
+
+      // then
+      final var expectedTopK = wordToWeight.keySet().stream()
+        .filter(word -> word.startsWith(prefix))
+        .sorted((a, b) -> Long.compare(wordToWeight.get(b), wordToWeight.get(a)))
+        .limit(20)
+        .collect(Collectors.toList());
+
+      Assert.assertEquals(expectedTopK, actualTopK);
+    }
+  }
+
+  @Test
+  public void addThenSearchWithinDistance() {
+    // given
+    final var trie = createTestTrie();
+
+    // then
+    Assert.assertEquals(ImmutableSet.of("car"), trie.searchWithinDistance("car", 0));
+    Assert.assertEquals(ImmutableSet.of("car", "card"), trie.searchWithinDistance("car", 1));
+    Assert.assertEquals(ImmutableSet.of("car"), trie.searchWithinDistance("cat", 1));
+    Assert.assertEquals(ImmutableSet.of("car", "card"), trie.searchWithinDistance("cat", 2));
+    Assert.assertEquals(ImmutableSet.of("cancer"), trie.searchWithinDistance("canser", 1));
+    Assert.assertEquals(ImmutableSet.of("cancer"), trie.searchWithinDistance("acncer", 2));
+    Assert.assertEquals(ImmutableSet.of("dog", "car"), trie.searchWithinDistance("cog", 2));
+    Assert.assertEquals(ImmutableSet.of(), trie.searchWithinDistance("xyz", 2));
+  }
+
+  @Test
+  public void addRandomlyThenSearchWithinDistanceMatchesBruteForce() {
+    // given
+    final var random = new Random(0);
+    final var trie = new Trie();
+    final var words = new HashSet<String>();
+
+    for (var i = 0; i < 2_000; i++) {
+      final var word = randomWord(random);
+      trie.addWord(word);
+      words.add(word);
+    }
+
+    for (var i = 0; i < 50; i++) {
+      final var query = randomWord(random);
+      final var maxEdits = random.nextInt(3);
+
+      // when
+      final var actualWords = trie.searchWithinDistance(query, maxEdits);
+
+      // then
+      final var expectedWords = words.stream()
+        .filter(word -> levenshteinDistance(word, query) <= maxEdits)
+        .collect(Collectors.toSet());
+
+      Assert.assertEquals(expectedWords, actualWords);
+    }
+  }
+
+  private static String randomWord(Random random) {
+    return IntStream.range(0, 1 + random.nextInt(6))
+      .mapToObj(i -> String.valueOf((char) ('a' + random.nextInt(4))))
+      .collect(Collectors.joining());
+  }
+
+  // textbook, full matrix version
+  private static int levenshteinDistance(String a, String b) {
+    final var distances = new int[a.length() + 1][b.length() + 1];
+    for (var i = 0; i <= a.length(); i++)
+      for (var j = 0; j <= b.length(); j++)
+        distances[i][j] = i == 0 || j == 0
+          ? i + j
+          : Math.min(
+            Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+            distances[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1)
+          );
+    return distances[a.length()][b.length()];
+  }
+
+}
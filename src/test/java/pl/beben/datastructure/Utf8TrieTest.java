@@ -0,0 +1,76 @@
+package pl.beben.datastructure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Utf8TrieTest {
+
+  @Test
+  public void addThenContains() {
+
+    // given
+    final var trie = new Utf8Trie();
+    trie.addWord("car");
+    trie.addWord("card");
+    trie.addWord("żółw");
+    trie.addWord("żółty");
+    trie.addWord("car");
+
+    // then
+    Assert.assertEquals(4, trie.wordCount());
+
+    Assert.assertTrue(trie.containsWord("car"));
+    Assert.assertTrue(trie.containsWord("card"));
+    Assert.assertTrue(trie.containsWord("żółw"));
+    Assert.assertTrue(trie.containsWord("żółty"));
+    Assert.assertFalse(trie.containsWord("ca"));
+    Assert.assertFalse(trie.containsWord("żół"));
+
+    Assert.assertTrue(trie.contains("ca"));
+    Assert.assertTrue(trie.contains("żół"));
+    Assert.assertFalse(trie.contains("zol"));
+  }
+
+  @Test
+  public void addThenTestStructure() {
+
+    // given
+    final var trie = new Utf8Trie();
+
+    // when "ż" is encoded as 2 bytes (0xC5 0xBC)
+    trie.addWord("ż");
+    trie.addWord("z");
+    trie.addWord("a");
+
+    // then children are sorted as unsigned bytes - the multi-byte character comes last
+    Assert.assertEquals(3, trie.root.childCount);
+    Assert.assertEquals('a', trie.root.labels[0]);
+    Assert.assertEquals('z', trie.root.labels[1]);
+    Assert.assertEquals((byte) 0xC5, trie.root.labels[2]);
+
+    final var secondByteNode = trie.root.children[2].children[0];
+    Assert.assertEquals((byte) 0xBC, trie.root.children[2].labels[0]);
+    Assert.assertTrue(secondByteNode.isEndOfWord);
+    Assert.assertFalse(trie.root.children[2].isEndOfWord);
+  }
+
+  @Test
+  public void addInDescendingOrderThenLabelsAreSorted() {
+
+    // given
+    final var trie = new Utf8Trie();
+
+    // when every ASCII character, in descending order
+    for (var character = (char) 0x7F; character > 0; character--)
+      trie.addWord("x" + character);
+
+    // then
+    final var node = trie.root.children[0];
+    Assert.assertEquals(127, node.childCount);
+    for (var i = 0; i < 127; i++)
+      Assert.assertEquals(i + 1, node.labels[i]);
+    for (var character = (char) 1; character < 0x80; character++)
+      Assert.assertTrue(trie.containsWord("x" + character));
+  }
+
+}